@@ -0,0 +1,144 @@
+package io.mawhebty.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.mawhebty.enums.UserRoleEnum;
+import io.mawhebty.enums.UserStatusEnum;
+import io.mawhebty.models.User;
+import io.mawhebty.models.UserRole;
+import io.mawhebty.models.UserStatus;
+import io.mawhebty.repository.UserRepository;
+import io.mawhebty.services.JWTService;
+import io.mawhebty.services.JWTServiceBenchmark;
+import io.mawhebty.services.auth.AuthSnapshotCache;
+import io.mawhebty.services.auth.RefreshTokenStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Authentication overhead of one request, before and after the three filters were merged.
+ * The old KeycloakAuthFilter, JwtLimitedAccessFilter and JwtAuthenticationFilter are gone, so
+ * "before" replays their CPU work: three rounds of startsWith over the prefix lists, then a
+ * regex clean and a fresh parser per claim read. The user lookup they made per request is not
+ * replayed, both sides read the auth snapshot from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestAuthenticationFilterBenchmark {
+
+    private static final List<String> LEGACY_LIMITED_PUBLIC = List.of(
+            "/api/v1/auth", "/api/v1/users", "/api/v1/categories", "/api/v1/talent", "/api/v1/public/",
+            "/oauth2/authorization", "/login/oauth2/code", "/oauth2/callback", "/login");
+    private static final List<String> LEGACY_AUTHENTICATION_PUBLIC = List.of(
+            "/api/v1/internal-services/core/", "/api/v1/users", "/api/v1/auth", "/swagger-ui/", "/v3/api-docs",
+            "/actuator/health", "/api/v1/categories", "/api/v1/talent", "/api/v1/sub-categories/");
+    private static final List<String> LEGACY_READ_ROUTES = List.of(
+            "/api/v1/mawhebty-platform/feeds", "/api/v1/mawhebty-platform/posts", "/api/v1/mawhebty-platform/search",
+            "/api/v1/mawhebty-platform/talents", "/api/v1/mawhebty-platform/researchers",
+            "/api/v1/mawhebty-platform/profile", "/api/v1/mawhebty-platform/categories",
+            "/api/v1/mawhebty-platform/events", "/api/v1/mawhebty-platform/articles",
+            "/api/v1/mawhebty-platform/posts", "/api/v1/mawhebty-platform/home/sections");
+    private static final int LEGACY_CLAIM_READS = 5;
+
+    @Param({"/api/v1/mawhebty-platform/posts/42", "/api/v1/mawhebty-platform/saved-items", "/api/v1/auth/refresh"})
+    public String path;
+
+    private SecretKey signingKey;
+    private String header;
+    private RequestAuthenticationFilter filter;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        signingKey = Keys.hmacShaKeyFor(JWTServiceBenchmark.SECRET.getBytes(StandardCharsets.UTF_8));
+        header = "Bearer " + JWTServiceBenchmark.accessToken(42L);
+        JWTService jwtService = JWTServiceBenchmark.jwtService();
+
+        // the snapshot is loaded once, every measured request is a cache hit
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByIdFetchRoleAndStatusAndUserType(42L)).thenReturn(Optional.of(User.builder()
+                .id(42L)
+                .email("user42@mawhebty.test")
+                .role(UserRole.builder().name(UserRoleEnum.TALENT).build())
+                .status(UserStatus.builder().name(UserStatusEnum.ACTIVE.getName()).build())
+                .isVerified(true)
+                .build()));
+        AuthSnapshotCache authSnapshotCache = new AuthSnapshotCache(userRepository);
+        ReflectionTestUtils.setField(authSnapshotCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(authSnapshotCache, "ttlSeconds", 3600L);
+        ReflectionTestUtils.invokeMethod(authSnapshotCache, "init");
+
+        // the benchmark token carries no session, so no revocation lookup is made
+        filter = new RequestAuthenticationFilter(jwtService, authSnapshotCache, null, new RefreshTokenStore(null));
+    }
+
+    @Benchmark
+    public void legacyFilters(Blackhole blackhole) {
+        MockHttpServletRequest request = JWTServiceBenchmark.request(header);
+        request.setRequestURI(path);
+        String uri = request.getRequestURI();
+
+        // KeycloakAuthFilter
+        blackhole.consume(uri.startsWith("/api/v1/internal-services/core/"));
+        // JwtLimitedAccessFilter
+        boolean limitedPublic = LEGACY_LIMITED_PUBLIC.stream().anyMatch(uri::startsWith);
+        blackhole.consume(LEGACY_READ_ROUTES.stream().anyMatch(uri::startsWith));
+        // JwtAuthenticationFilter
+        boolean authenticationPublic = LEGACY_AUTHENTICATION_PUBLIC.stream().anyMatch(uri::startsWith);
+        if (limitedPublic && authenticationPublic) {
+            return;
+        }
+
+        for (int i = 0; i < LEGACY_CLAIM_READS; i++) {
+            blackhole.consume(new VerifiedClaims(Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build()
+                    .parseClaimsJws(JWTServiceBenchmark.legacyCleanToken(request.getHeader(HttpHeaders.AUTHORIZATION)))
+                    .getBody()));
+        }
+    }
+
+    @Benchmark
+    public void singlePassFilter(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = JWTServiceBenchmark.request(header);
+        request.setRequestURI(path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
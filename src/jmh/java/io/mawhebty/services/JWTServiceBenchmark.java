@@ -0,0 +1,125 @@
+package io.mawhebty.services;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.mawhebty.security.PermissionMask;
+import io.mawhebty.security.VerifiedClaims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer token handling of one request. Before, each of the filters and the claim getters cleaned
+ * the header with regexes and built a parser to verify the token again, up to five times a request;
+ * now the first read verifies it once with the shared parser and the rest read the request attribute.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTServiceBenchmark {
+
+    public static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    // claim reads one request went through: limited-access filter, authentication filter, controller helpers
+    private static final int READS_PER_REQUEST = 5;
+
+    private SecretKey signingKey;
+    private JWTService jwtService;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtService = jwtService();
+        header = "Bearer " + accessToken(42L);
+    }
+
+    @Benchmark
+    public void legacyParsePerRead(Blackhole blackhole) {
+        MockHttpServletRequest request = request(header);
+        for (int i = 0; i < READS_PER_REQUEST; i++) {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build()
+                    .parseClaimsJws(legacyCleanToken(request.getHeader(HttpHeaders.AUTHORIZATION)))
+                    .getBody();
+            blackhole.consume(new VerifiedClaims(claims));
+        }
+    }
+
+    @Benchmark
+    public void verifiedOncePerRequest(Blackhole blackhole) {
+        MockHttpServletRequest request = request(header);
+        for (int i = 0; i < READS_PER_REQUEST; i++) {
+            blackhole.consume(jwtService.getVerifiedClaims(request));
+        }
+    }
+
+    public static JWTService jwtService() {
+        JWTService jwtService = new JWTService(null, null);
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        jwtService.init();
+        return jwtService;
+    }
+
+    // the claims generateToken puts in a FULL_ACCESS token
+    public static String accessToken(long userId) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(Map.of(
+                        "userId", userId,
+                        "email", "user" + userId + "@mawhebty.test",
+                        "role", "TALENT",
+                        "tokenType", "FULL_ACCESS",
+                        "userStatus", "ACTIVE",
+                        VerifiedClaims.PERMISSIONS_CLAIM, PermissionMask.encode(0x1FFFFL)))
+                .setSubject("Mawhebty")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/mawhebty-platform/posts/7");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        return request;
+    }
+
+    // JWTService.cleanToken as it was before the single-pass scan
+    public static String legacyCleanToken(String token) {
+        if (token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+        token = token.trim()
+                .replaceAll("\\s+", "")
+                .replaceAll("\\r|\\n", "");
+        if (token.split("\\.").length != 3) {
+            throw new MalformedJwtException("Invalid JWT format");
+        }
+        return token;
+    }
+}
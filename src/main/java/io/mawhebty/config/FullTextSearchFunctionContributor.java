@@ -0,0 +1,29 @@
+package io.mawhebty.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the full-text search functions used by the search specifications.
+ * Both render against the stored search_vector column so the GIN index can serve the match.
+ * Loaded through META-INF/services.
+ */
+public class FullTextSearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts_match",
+                "(?1 @@ mawhebty_search_query(?2))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts_rank",
+                "ts_rank_cd(?1, mawhebty_search_query(?2))",
+                types.resolve(StandardBasicTypes.FLOAT));
+    }
+}
@@ -6,6 +6,7 @@ import io.mawhebty.api.v1.resources.mawhebtyPlatform.*;
 import io.mawhebty.dtos.responses.ArticleListResponse;
 import io.mawhebty.dtos.responses.ArticleSummaryResponse;
 import io.mawhebty.services.ArticleService;
+import io.mawhebty.support.ConditionalGet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ public class ArticlesController extends AbstractMawhebtyPlatformController
         implements ArticlesApi {
 
     private final ArticleService articleService;
+    private final ConditionalGet conditionalGet;
 
     @Override
     public ResponseEntity<PaginatedListResponseResource> getArticles(
@@ -29,7 +31,10 @@ public class ArticlesController extends AbstractMawhebtyPlatformController
             String search,
             Integer page,
             Integer perPage,
-            String sortBy
+            String sortBy,
+            String cursor,
+            Boolean withTotal,
+            Boolean estimateTotal
     ) {
 
         if (page == null || page < 1) page = 1;
@@ -43,7 +48,10 @@ public class ArticlesController extends AbstractMawhebtyPlatformController
                 search,
                 page,
                 perPage,
-                sortBy
+                sortBy,
+                cursor,
+                !Boolean.FALSE.equals(withTotal),
+                Boolean.TRUE.equals(estimateTotal)
         );
 
         List<ArticleSummaryResource> articleResources = response.getArticles()
@@ -53,10 +61,13 @@ public class ArticlesController extends AbstractMawhebtyPlatformController
 
         // Map to Resource for API response
         PaginatedListResponseResource resource = new PaginatedListResponseResource();
-        resource.setTotalItems(BigDecimal.valueOf(response.getTotalItems()));
+        resource.setTotalItems(response.getTotalItems() != null ? BigDecimal.valueOf(response.getTotalItems()) : null);
         resource.setCurrentPage(response.getCurrentPage());
         resource.setPerPage(response.getPerPage());
         resource.setTotalPages(response.getTotalPages());
+        resource.setNextCursor(response.getNextCursor());
+        resource.setHasNext(response.getHasNext());
+        resource.setTotalIsEstimate(response.getTotalIsEstimate());
         resource.setData(articleResources);
 
         return ResponseEntity.ok(resource);
@@ -65,10 +76,11 @@ public class ArticlesController extends AbstractMawhebtyPlatformController
     @Override
     public ResponseEntity<ArticleResponseResource> getArticleById(Integer id) {
 
-        ArticleResponseResource response =
-                articleService.getArticleById(id.longValue());
-
-        return ResponseEntity.ok(response);
+        // a revalidation that still matches gets a 304 without the article being loaded or mapped
+        return conditionalGet.respond(
+                articleService.getArticleValidator(id.longValue()),
+                conditionalGet.privateCaching(),
+                () -> articleService.getArticleById(id.longValue()));
     }
 
     private ArticleSummaryResource mapToArticleSummaryResource(ArticleSummaryResponse summary) {
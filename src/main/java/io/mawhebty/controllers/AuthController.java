@@ -1,13 +1,17 @@
 package io.mawhebty.controllers;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.mawhebty.dtos.requests.*;
 import io.mawhebty.dtos.responses.*;
 import io.mawhebty.enums.UserStatusEnum;
 import io.mawhebty.exceptions.BadDataException;
 import io.mawhebty.models.User;
+import io.mawhebty.security.VerifiedClaims;
 import io.mawhebty.services.JWTService;
 import io.mawhebty.services.UserService;
+import io.mawhebty.services.auth.RefreshTokenStore;
+import io.mawhebty.services.auth.RefreshTokenStore.IssuedRefreshToken;
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -22,6 +26,8 @@ import org.springframework.web.bind.annotation.*;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
@@ -32,6 +38,7 @@ public class AuthController {
     private final OTPService otpService;
     private final JWTService jwtService;
     private final UserService userService;
+    private final RefreshTokenStore refreshTokenStore;
 
     // Step 1
     @PostMapping(value= "/login")
@@ -39,6 +46,7 @@ public class AuthController {
         if (error){
             throw new IllegalStateException("Google authentication failed");
         }
+        // answered as soon as the OTP is committed, its email goes out from the outbox
         LoginResponse loginResponse= registrationService.login(request);
         return ResponseEntity.ok(loginResponse);
     }
@@ -86,78 +94,104 @@ public class AuthController {
         String refreshToken = jwtService.getRefreshToken(refreshTokenCookie, refreshTokenHeader);
 //        boolean isFromCookie = refreshTokenCookie != null && refreshToken.equals(refreshTokenCookie);
 
-        // Validate refresh token
-        if (!jwtService.isRefreshToken(refreshToken)) {
-            throw new BadDataException("Invalid refresh token");
-        }
-
         try {
+            // Validate refresh token
+            VerifiedClaims claims = jwtService.verifyToken(refreshToken);
+            if (!claims.isRefresh()) {
+                throw new BadDataException("Invalid refresh token");
+            }
+            // issued before refresh-token families, it cannot be rotated or revoked
+            if (claims.getTokenId() == null || claims.getSessionId() == null) {
+                response.addHeader(HttpHeaders.SET_COOKIE, refreshTokenCookie("", 0).toString());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body("Refresh token is no longer valid, please login again");
+            }
+
             // Extract user info
-            String email = jwtService.getUserEmailFromToken(refreshToken);
-            User user = userService.findByEmailFetchStatus(email);
+            User user = userService.findByEmailFetchStatus(claims.getEmail());
 
             // Validate user
-            Long tokenUserId = jwtService.getUserIdFromToken(refreshToken);
-            if (!Objects.equals(user.getId(), tokenUserId)) {
+            if (!Objects.equals(user.getId(), claims.getUserId())) {
                 throw new BadDataException("Invalid refresh token claims");
             }
 
-            if (jwtService.validateToken(refreshToken)) {
-                // Generate new access token
-                String newAccessToken = jwtService.generateToken(user.getId(), user.getEmail(), user.getRole(),
-                        user.getStatus().getName().equals(UserStatusEnum.ACTIVE.getName())? "FULL_ACCESS": "LIMITED_ACCESS", user.getStatus());
-
-                // Rotate refresh token
-                String newRefreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
+            // Rotate refresh token within its family, a replayed token revokes the family
+            Optional<IssuedRefreshToken> rotated = refreshTokenStore.rotate(claims.getTokenId(), claims.getSessionId(), user.getId());
+            if (rotated.isEmpty()) {
+                response.addHeader(HttpHeaders.SET_COOKIE, refreshTokenCookie("", 0).toString());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body("Refresh token revoked, please login again");
+            }
 
-                // Set new refresh token in cookie
-                ResponseCookie newRefreshTokenCookie = ResponseCookie.from("refresh_token", newRefreshToken)
-                        .httpOnly(true)
-                        .secure(true)
-                        .sameSite("Strict")
-                        .maxAge(7 * 24 * 60 * 60)
-                        .path("/api/auth/refresh")
-                        .build();
+            // Generate new access token
+            String newAccessToken = jwtService.generateToken(user.getId(), user.getEmail(), user.getRole(),
+                    user.getStatus().getName().equals(UserStatusEnum.ACTIVE.getName())? "FULL_ACCESS": "LIMITED_ACCESS", user.getStatus(),
+                    claims.getSessionId());
+            String newRefreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail(), rotated.get());
 
-                response.addHeader(HttpHeaders.SET_COOKIE, newRefreshTokenCookie.toString());
+            // Set new refresh token in cookie
+            response.addHeader(HttpHeaders.SET_COOKIE, refreshTokenCookie(newRefreshToken, 7 * 24 * 60 * 60).toString());
 
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + newAccessToken)
-                        .body(Map.of("access_token", newAccessToken));
-            }
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + newAccessToken)
+                    .body(Map.of("access_token", newAccessToken));
         } catch (ExpiredJwtException e) {
             // Clear expired refresh token cookie
-            ResponseCookie clearCookie = ResponseCookie.from("refresh_token", "")
-                    .httpOnly(true)
-                    .secure(true)
-                    .sameSite("Strict")
-                    .maxAge(0)
-                    .path("/api/auth/refresh")
-                    .build();
-
-            response.addHeader(HttpHeaders.SET_COOKIE, clearCookie.toString());
+            response.addHeader(HttpHeaders.SET_COOKIE, refreshTokenCookie("", 0).toString());
 
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Refresh token expired, please login again");
+        } catch (JwtException e) {
+            throw new BadDataException("Invalid refresh token");
         }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body("Invalid refresh token");
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletRequest request, HttpServletResponse response) {
+    public ResponseEntity<?> logout(
+            @CookieValue(name = "refresh_token", required = false) String refreshTokenCookie,
+            @RequestHeader(name = "X-Refresh-Token", required = false) String refreshTokenHeader,
+            HttpServletRequest request, HttpServletResponse response) {
+
+        // Revoke the login's refresh-token family, its access tokens are rejected from now on
+        UUID sessionId = sessionToRevoke(refreshTokenCookie, refreshTokenHeader, request);
+        if (sessionId != null) {
+            refreshTokenStore.revokeFamily(sessionId);
+        }
+
         // Clear refresh token cookie
-        ResponseCookie clearCookie = ResponseCookie.from("refresh_token", "")
+        response.addHeader(HttpHeaders.SET_COOKIE, refreshTokenCookie("", 0).toString());
+
+        return ResponseEntity.ok().body("Logged out successfully");
+    }
+
+    // the refresh token names the family; failing that, an access token of the same login does
+    private UUID sessionToRevoke(String refreshTokenCookie, String refreshTokenHeader, HttpServletRequest request) {
+        String refreshToken = refreshTokenCookie != null && !refreshTokenCookie.isBlank() ? refreshTokenCookie : refreshTokenHeader;
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            try {
+                VerifiedClaims claims = jwtService.verifyToken(refreshToken);
+                if (claims.isRefresh() && claims.getSessionId() != null) {
+                    return claims.getSessionId();
+                }
+            } catch (JwtException e) {
+                // nothing to revoke for an expired or invalid refresh token
+            }
+        }
+        try {
+            VerifiedClaims claims = jwtService.getVerifiedClaims(request);
+            return claims != null ? claims.getSessionId() : null;
+        } catch (JwtException e) {
+            return null;
+        }
+    }
+
+    private ResponseCookie refreshTokenCookie(String value, long maxAgeSeconds) {
+        return ResponseCookie.from("refresh_token", value)
                 .httpOnly(true)
                 .secure(true)
                 .sameSite("Strict")
-                .maxAge(0)
+                .maxAge(maxAgeSeconds)
                 .path("/api/auth/refresh")
                 .build();
-
-        response.addHeader(HttpHeaders.SET_COOKIE, clearCookie.toString());
-
-        return ResponseEntity.ok().body("Logged out successfully");
     }
 }
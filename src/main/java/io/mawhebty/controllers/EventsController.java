@@ -9,6 +9,7 @@ import io.mawhebty.exceptions.ResourceNotFoundException;
 import io.mawhebty.models.User;
 import io.mawhebty.services.EventService;
 import io.mawhebty.services.auth.CurrentUserService;
+import io.mawhebty.support.ConditionalGet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -30,6 +31,7 @@ public class EventsController extends AbstractMawhebtyPlatformController
 
     private final EventService eventService;
     private final CurrentUserService currentUserService;
+    private final ConditionalGet conditionalGet;
 
     @Override
     public ResponseEntity<PaginatedListResponseResource> getEvents(
@@ -41,7 +43,10 @@ public class EventsController extends AbstractMawhebtyPlatformController
             Integer perPage,
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            String sortBy
+            String sortBy,
+            String cursor,
+            Boolean withTotal,
+            Boolean estimateTotal
            ) {
 
         try {
@@ -63,7 +68,10 @@ public class EventsController extends AbstractMawhebtyPlatformController
                     endDate,
                     page,
                     perPage,
-                    sortBy
+                    sortBy,
+                    cursor,
+                    !Boolean.FALSE.equals(withTotal),
+                    Boolean.TRUE.equals(estimateTotal)
             );
 
             
@@ -85,14 +93,14 @@ public class EventsController extends AbstractMawhebtyPlatformController
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             User currentUser = currentUserService.getCurrentUser(authentication);
 
-            // Get event with related events
-            EventWithRelatedResponse response = eventService.getEventById(id.longValue());
-
-            // Convert to API resource
-            EventWithRelatedResponseResource apiResponse = mapToEventWithRelatedResponseResource(response);
+            // Get event with related events, unless the client's copy is still current
+            ResponseEntity<EventWithRelatedResponseResource> response = conditionalGet.respond(
+                    eventService.getEventValidator(id.longValue()),
+                    conditionalGet.privateCaching(),
+                    () -> mapToEventWithRelatedResponseResource(eventService.getEventById(id.longValue())));
 
             log.info("Event retrieved successfully for user: {}", currentUser.getId());
-            return ResponseEntity.ok(apiResponse);
+            return response;
 
         } catch (ResourceNotFoundException e) {
             log.error("Event not found with id: {}", id);
@@ -141,10 +149,13 @@ public class EventsController extends AbstractMawhebtyPlatformController
 
     private PaginatedListResponseResource mapToEventListResponseResource(EventListResponse response) {
         PaginatedListResponseResource resource = new PaginatedListResponseResource();
-        resource.setTotalItems(BigDecimal.valueOf(response.getTotal()));
+        resource.setTotalItems(response.getTotal() != null ? BigDecimal.valueOf(response.getTotal()) : null);
         resource.setCurrentPage(response.getPage());
         resource.setPerPage(response.getPerPage());
         resource.setTotalPages(response.getTotalPages());
+        resource.setNextCursor(response.getNextCursor());
+        resource.setHasNext(response.getHasNext());
+        resource.setTotalIsEstimate(response.getTotalIsEstimate());
 
         // Map events list
         List<EventListItemResource> eventResources = response.getEvents().stream()
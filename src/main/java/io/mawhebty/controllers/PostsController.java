@@ -6,6 +6,7 @@ import io.mawhebty.api.v1.resources.mawhebtyPlatform.*;
 import io.mawhebty.dtos.responses.*;
 import io.mawhebty.exceptions.ResourceNotFoundException;
 import io.mawhebty.models.User;
+import io.mawhebty.services.PostLikeService;
 import io.mawhebty.services.PostService;
 import io.mawhebty.services.auth.CurrentUserService;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ public class PostsController extends AbstractMawhebtyPlatformController
         implements PostsApi {
 
     private final PostService postService;
+    private final PostLikeService postLikeService;
     private final CurrentUserService currentUserService;
 
 
@@ -37,7 +39,10 @@ public class PostsController extends AbstractMawhebtyPlatformController
             String search,
             Integer page,
             Integer perPage,
-            String sortBy
+            String sortBy,
+            String cursor,
+            Boolean withTotal,
+            Boolean estimateTotal
     ) {
         try {
 
@@ -55,7 +60,10 @@ public class PostsController extends AbstractMawhebtyPlatformController
                     search,
                     page,
                     perPage,
-                    sortBy
+                    sortBy,
+                    cursor,
+                    !Boolean.FALSE.equals(withTotal),
+                    Boolean.TRUE.equals(estimateTotal)
             );
 
             return ResponseEntity.ok(response);
@@ -84,5 +92,17 @@ public class PostsController extends AbstractMawhebtyPlatformController
         }
     }
 
-    
-}
\ No newline at end of file
+    @Override
+    public ResponseEntity<PostLikeResponseResource> likePost(Integer id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long currentUserId = currentUserService.getCurrentUserId(authentication);
+        return ResponseEntity.ok(postLikeService.likePost(currentUserId, id.longValue()));
+    }
+
+    @Override
+    public ResponseEntity<PostLikeResponseResource> unlikePost(Integer id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long currentUserId = currentUserService.getCurrentUserId(authentication);
+        return ResponseEntity.ok(postLikeService.unlikePost(currentUserId, id.longValue()));
+    }
+}
@@ -0,0 +1,46 @@
+package io.mawhebty.controllers;
+
+import io.mawhebty.api.v1.mawhebty.platform.AbstractMawhebtyPlatformController;
+import io.mawhebty.api.v1.mawhebtyPlatform.SearchApi;
+import io.mawhebty.api.v1.resources.mawhebtyPlatform.SearchSuggestResponseResource;
+import io.mawhebty.api.v1.resources.mawhebtyPlatform.SearchSuggestionResource;
+import io.mawhebty.dtos.SearchSuggestionDto;
+import io.mawhebty.services.SearchSuggestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController("MawhebtyPlatformSearchController")
+@RequiredArgsConstructor
+public class SearchController extends AbstractMawhebtyPlatformController
+        implements SearchApi {
+
+    private final SearchSuggestService searchSuggestService;
+
+    @Override
+    public ResponseEntity<SearchSuggestResponseResource> getSearchSuggestions(String q, Integer limit) {
+        if (limit == null || limit < 1) limit = 8;
+        if (limit > 20) limit = 20;
+
+        boolean english = "en".equals(LocaleContextHolder.getLocale().getLanguage());
+
+        SearchSuggestResponseResource response = new SearchSuggestResponseResource();
+        response.setData(
+                searchSuggestService.suggest(q, limit).stream()
+                        .map(suggestion -> mapToResource(suggestion, english))
+                        .toList()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    private SearchSuggestionResource mapToResource(SearchSuggestionDto suggestion, boolean english) {
+        SearchSuggestionResource resource = new SearchSuggestionResource();
+        resource.setType(SearchSuggestionResource.TypeEnum.fromValue(suggestion.getType()));
+        resource.setId(suggestion.getId());
+        resource.setTitle(english ? suggestion.getTitleEn() : suggestion.getTitleAr());
+        return resource;
+    }
+}
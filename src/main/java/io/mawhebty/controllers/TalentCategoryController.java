@@ -1,18 +1,19 @@
 package io.mawhebty.controllers;
 
-import io.mawhebty.dtos.responses.TalentCategoryResponse;
-import io.mawhebty.services.TalentCategoryService;
+import io.mawhebty.services.CategoryTreeSnapshot;
+import io.mawhebty.support.ConditionalGet;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController("TalentCategoryControllerForPlatform")
 @RequiredArgsConstructor
 @RequestMapping("api/v1/categories")
 public class TalentCategoryController {
 
-    private final TalentCategoryService talentCategoryService;
+    private final CategoryTreeSnapshot categoryTreeSnapshot;
+    private final ConditionalGet conditionalGet;
 
 //    @PostMapping
 //    public ResponseEntity<Void> createCategory(@Valid @RequestBody CreateTalentCategoryRequest request) {
@@ -20,9 +21,15 @@ public class TalentCategoryController {
 //        return ResponseEntity.noContent().build();
 //    }
 
+    // Pre-serialized snapshot; with the ETag set, a matching If-None-Match is answered with 304 and no body
     @GetMapping
-    public ResponseEntity<List<TalentCategoryResponse>> getAllCategories(){
-        return ResponseEntity.ok().body(this.talentCategoryService.fetchAllCategories());
+    public ResponseEntity<byte[]> getAllCategories(){
+        CategoryTreeSnapshot.Tree tree = this.categoryTreeSnapshot.current();
+        return ResponseEntity.ok()
+                .eTag(tree.getEtag())
+                .cacheControl(conditionalGet.publicCaching())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(tree.getBody());
     }
 
 
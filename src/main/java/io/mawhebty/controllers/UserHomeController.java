@@ -30,7 +30,7 @@ public class UserHomeController extends AbstractMawhebtyPlatformController
     private final CurrentUserService currentUserService;
 
     @Override
-    public ResponseEntity<HomeSectionsDataResource> getHomeSections(BigDecimal perSectionItemsCount, String search) {
+    public ResponseEntity<HomeSectionsDataResource> getHomeSections(BigDecimal perSectionItemsCount, String search, String cursor) {
         try {
             // Get current authenticated user
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -40,7 +40,8 @@ public class UserHomeController extends AbstractMawhebtyPlatformController
             Map<String, Object> homeSectionsData= userHomeService.getHomeSections(
                     currentUser.getId(),
                     this.pageOf(0, perSectionItemsCount.intValue(), Sort.by("id").descending()),
-                    search
+                    search,
+                    cursor
             );
 
             // Build response
@@ -81,9 +82,32 @@ public class UserHomeController extends AbstractMawhebtyPlatformController
             response.setArticles(mapToArticleSectionResources(articles));
         }
 
+        response.setNextCursor((String) homeSectionsData.get("next_cursor"));
+
+        // Add per-section timings
+        if (homeSectionsData.containsKey("section_timings")) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> timings = (List<Map<String, Object>>) homeSectionsData.get("section_timings");
+            response.setSectionTimings(mapToSectionTimingResources(timings));
+        }
+
         return response;
     }
 
+    private List<SectionTimingResource> mapToSectionTimingResources(List<Map<String, Object>> timings) {
+        List<SectionTimingResource> timingResources = new ArrayList<>();
+
+        for (Map<String, Object> timingData : timings) {
+            SectionTimingResource timingResource = new SectionTimingResource();
+            timingResource.setSection((String) timingData.get("section"));
+            timingResource.setDurationMs((Long) timingData.get("duration_ms"));
+            timingResource.setTimedOut((Boolean) timingData.get("timed_out"));
+            timingResources.add(timingResource);
+        }
+
+        return timingResources;
+    }
+
     private List<PostSectionResource> mapToPostSectionResources(List<Map<String, Object>> posts) {
         List<PostSectionResource> postSectionResource = new ArrayList<>();
 
@@ -108,6 +132,7 @@ public class UserHomeController extends AbstractMawhebtyPlatformController
             postResource.setSubCategoryName((String) postData.get("sub_category_name"));
             postResource.setDate(LocalDateTime.parse((String) postData.get("date")));
             postResource.setIsSaved((Boolean) postData.get("is_saved"));
+            postResource.setLikesCount((Integer) postData.get("likes_count"));
             postSectionResource.add(postResource);
         }
 
@@ -0,0 +1,23 @@
+package io.mawhebty.controllers.internalServices;
+
+import io.mawhebty.api.v1.mawhebty.dashboard.AbstractMawhebtyDashboardController;
+import io.mawhebty.services.mail.EmailOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class EmailOutboxController extends AbstractMawhebtyDashboardController {
+
+    private final EmailOutbox emailOutbox;
+
+    @GetMapping("/email-outbox/stats")
+    public ResponseEntity<Map<String, Long>> stats() {
+        return ResponseEntity.ok(Map.of(
+                "pending", emailOutbox.queueDepth(),
+                "failed", emailOutbox.failedCount()));
+    }
+}
@@ -0,0 +1,24 @@
+package io.mawhebty.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// locale-neutral event summary kept in the related-content rings
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedEventSummary {
+    private Long id;
+    private String titleEn;
+    private String titleAr;
+    private String descriptionEn;
+    private String descriptionAr;
+    private String location;
+    private String imageUrl;
+    private LocalDateTime eventDate;
+}
@@ -0,0 +1,30 @@
+package io.mawhebty.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// locale-neutral post summary kept in the related-content rings
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedPostSummary {
+    private Long id;
+    private Long ownerId;
+    private String ownerFirstName;
+    private String ownerLastName;
+    private String ownerImageUrl;
+    private String title;
+    private String caption;
+    private String mediaUrl;
+    private Integer durationSeconds;
+    private String categoryNameEn;
+    private String categoryNameAr;
+    private String subCategoryNameEn;
+    private String subCategoryNameAr;
+    private LocalDateTime createdAt;
+}
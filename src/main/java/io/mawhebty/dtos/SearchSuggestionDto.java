@@ -0,0 +1,18 @@
+package io.mawhebty.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestionDto {
+    private String type; // POST, EVENT, ARTICLE, CATEGORY
+    private Long id;
+    private String titleEn;
+    private String titleAr;
+    private Double score;
+}
@@ -12,4 +12,7 @@ public class ArticleListResponse {
     private Integer perPage;
     private Integer totalPages;
     private List<ArticleSummaryResponse> articles;
+    private String nextCursor;
+    private Boolean hasNext;
+    private Boolean totalIsEstimate;
 }
@@ -16,4 +16,7 @@ public class EventListResponse {
     private Integer perPage;
     private Integer totalPages;
     private List<EventListItemResponse> events;
+    private String nextCursor;
+    private Boolean hasNext;
+    private Boolean totalIsEstimate;
 }
\ No newline at end of file
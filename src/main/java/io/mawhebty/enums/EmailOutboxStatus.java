@@ -0,0 +1,7 @@
+package io.mawhebty.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -29,4 +29,16 @@ public enum PermissionEnum {
 
     private Integer id;
     private String name;
+
+    // this permission's bit in a token's permission mask
+    public long bit() {
+        return 1L << (id - 1);
+    }
+
+    public static PermissionEnum fromId(Integer id) {
+        for (PermissionEnum permission : values()) {
+            if (permission.id.equals(id)) return permission;
+        }
+        return null;
+    }
 }
@@ -62,7 +62,7 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
-    @ExceptionHandler({OTPNotFoundException.class, OTPExpiredException.class, OTPAlreadyUsedException.class, OTPGenerationFailedException.class})
+    @ExceptionHandler({OTPNotFoundException.class, OTPExpiredException.class, OTPAlreadyUsedException.class, OTPAttemptsExceededException.class, OTPGenerationFailedException.class})
     public ResponseEntity<Map<String, Object>> handleOtpExceptions(RuntimeException ex) {
         logException(ex, HttpStatus.BAD_REQUEST);
         
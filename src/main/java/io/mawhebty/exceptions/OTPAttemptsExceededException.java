@@ -0,0 +1,12 @@
+package io.mawhebty.exceptions;
+
+public class OTPAttemptsExceededException extends RuntimeException {
+
+    public OTPAttemptsExceededException() {
+        super("Too many attempts for this OTP");
+    }
+
+    public OTPAttemptsExceededException(String message) {
+        super(message);
+    }
+}
@@ -58,6 +58,11 @@ public class Article extends BaseEntity {
     @Column(name = "tags", length = 1000)
     private String tags; // Comma-separated tags
 
+    // generated column maintained by the database, only read by the full-text search specs
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    @JsonIgnore
+    private String searchVector;
+
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<SavedItem> savedByUsers = new ArrayList<>();
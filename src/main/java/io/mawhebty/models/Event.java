@@ -97,6 +97,11 @@ public class Event extends BaseEntity {
     @JsonIgnore
     private TalentSubCategory subCategory;
 
+    // generated column maintained by the database, only read by the full-text search specs
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    @JsonIgnore
+    private String searchVector;
+
 
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
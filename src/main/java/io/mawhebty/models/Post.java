@@ -58,4 +58,13 @@ public class Post extends BaseEntity{
     @JoinColumn(name = "sub_category_id")
     @JsonIgnore
     private TalentSubCategory subCategory;
+
+    // denormalized like counter, only moved by PostLikeCounter's flush (never written through the entity)
+    @Column(name = "likes_count", insertable = false, updatable = false)
+    private Long likesCount;
+
+    // generated column maintained by the database, only read by the full-text search specs
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    @JsonIgnore
+    private String searchVector;
 }
@@ -0,0 +1,63 @@
+package io.mawhebty.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_token_user", columnList = "user_id")
+        })
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken extends BaseEntity implements Persistable<UUID> {
+
+    @Id
+    private UUID jti;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // set once the token was exchanged for its successor
+    private LocalDateTime rotatedAt;
+
+    // set on every token of the family at logout or on reuse
+    private LocalDateTime revokedAt;
+
+    // the jti is assigned up front, so save() would otherwise SELECT it to decide between persist and merge
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newToken = true;
+
+    @Override
+    public UUID getId() {
+        return jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newToken;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newToken = false;
+    }
+}
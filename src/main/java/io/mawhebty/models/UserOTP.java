@@ -13,10 +13,10 @@ import lombok.*;
 import jakarta.persistence.Index;
 
 @Entity
+// range-partitioned by expiry_date, one partition per day, see OtpPartitionSweeper;
+// idx_otp_active is partial (is_used = false) in the migration
 @Table(name= "user_otp", indexes = {
-    @Index(name = "idx_otp_user", columnList = "user_id"),
-    @Index(name = "idx_otp_expiry", columnList = "expiryDate"),
-    @Index(name = "idx_otp_used", columnList = "is_used")
+    @Index(name = "idx_otp_active", columnList = "user_id, expiry_date")
 })
 @Getter
 @Setter
@@ -41,4 +41,10 @@ public class UserOTP extends BaseEntity{
 
     @Column(name = "is_used", nullable = false, columnDefinition = "boolean default false")
     private boolean isUsed;
+
+    // verification attempts made against this code, capped by otp.max-attempts;
+    // only moved by UserOtpRepository.takeAttempt, never written back from the entity
+    @Builder.Default
+    @Column(name = "attempts", nullable = false, updatable = false)
+    private int attempts = 0;
 }
@@ -0,0 +1,40 @@
+package io.mawhebty.projections;
+
+import io.mawhebty.models.Article;
+import io.mawhebty.support.CardSelection;
+import jakarta.persistence.criteria.JoinType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Article list card: only the columns the list and home cards show, title and category names already localized
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleCard {
+    private Long id;
+    private String title;
+    private String coverImageUrl;
+    private String categoryName;
+    private String subCategoryName;
+    private LocalDateTime publishedAt;
+    private LocalDateTime createdAt;
+
+    // same order as the constructor
+    public static CardSelection<Article> columns(Locale locale) {
+        boolean en = "en".equals(locale.getLanguage());
+        String name = en ? "nameEn" : "nameAr";
+        return (root, cb) -> List.of(
+                root.get("id"),
+                root.get(en ? "titleEn" : "titleAr"),
+                root.get("coverImageUrl"),
+                root.join("category", JoinType.LEFT).get(name),
+                root.join("subCategory", JoinType.LEFT).get(name),
+                root.get("publishedAt"),
+                root.get("createdAt"));
+    }
+}
@@ -0,0 +1,15 @@
+package io.mawhebty.projections;
+
+import java.time.LocalDateTime;
+
+public interface ArticleVersionProjection {
+    LocalDateTime getUpdatedAt();
+    LocalDateTime getSectionsUpdatedAt();
+    Long getSectionCount();
+
+    default LocalDateTime getLastModified() {
+        LocalDateTime sectionsUpdatedAt = getSectionsUpdatedAt();
+        if (getUpdatedAt() == null) return sectionsUpdatedAt;
+        return sectionsUpdatedAt != null && sectionsUpdatedAt.isAfter(getUpdatedAt()) ? sectionsUpdatedAt : getUpdatedAt();
+    }
+}
@@ -0,0 +1,40 @@
+package io.mawhebty.projections;
+
+import io.mawhebty.models.Event;
+import io.mawhebty.support.CardSelection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Event list card: only the columns the list and home cards show, title and description already localized
+ */
+@Getter
+@AllArgsConstructor
+public class EventCard {
+    private Long id;
+    private String title;
+    private String description;
+    private String location;
+    private String locationCoordinates;
+    private String coverImageUrl;
+    private LocalDateTime eventDate;
+    private LocalDateTime createdAt;
+
+    // same order as the constructor
+    public static CardSelection<Event> columns(Locale locale) {
+        boolean en = "en".equals(locale.getLanguage());
+        return (root, cb) -> List.of(
+                root.get("id"),
+                root.get(en ? "titleEn" : "titleAr"),
+                root.get(en ? "descriptionEn" : "descriptionAr"),
+                root.get("location"),
+                root.get("locationCoordinates"),
+                root.get("coverImageUrl"),
+                root.get("eventDate"),
+                root.get("createdAt"));
+    }
+}
@@ -0,0 +1,8 @@
+package io.mawhebty.projections;
+
+import java.time.LocalDateTime;
+
+public interface EventVersionProjection {
+    LocalDateTime getUpdatedAt();
+    Integer getCategoryId();
+}
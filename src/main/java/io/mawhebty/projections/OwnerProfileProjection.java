@@ -0,0 +1,8 @@
+package io.mawhebty.projections;
+
+public interface OwnerProfileProjection {
+    Long getUserId();
+    String getFirstName();
+    String getLastName();
+    String getImageUrl();
+}
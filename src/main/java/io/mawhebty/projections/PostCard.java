@@ -0,0 +1,45 @@
+package io.mawhebty.projections;
+
+import io.mawhebty.models.Post;
+import io.mawhebty.support.CardSelection;
+import jakarta.persistence.criteria.JoinType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Post list card: only the columns the list and home cards show, category names already localized
+ */
+@Getter
+@AllArgsConstructor
+public class PostCard {
+    private Long id;
+    private Long ownerId;
+    private String title;
+    private String caption;
+    private String mediaUrl;
+    private Integer durationSeconds;
+    private String categoryName;
+    private String subCategoryName;
+    private LocalDateTime createdAt;
+    private Long likesCount;
+
+    // same order as the constructor
+    public static CardSelection<Post> columns(Locale locale) {
+        String name = "en".equals(locale.getLanguage()) ? "nameEn" : "nameAr";
+        return (root, cb) -> List.of(
+                root.get("id"),
+                root.get("ownerUser").get("id"),
+                root.get("title"),
+                root.get("caption"),
+                root.get("mediaUrl"),
+                root.get("durationSeconds"),
+                root.join("category", JoinType.LEFT).get(name),
+                root.join("subCategory", JoinType.LEFT).get(name),
+                root.get("createdAt"),
+                root.get("likesCount"));
+    }
+}
@@ -0,0 +1,6 @@
+package io.mawhebty.projections;
+
+public interface PostLikesCountProjection {
+    Long getId();
+    Long getLikesCount();
+}
@@ -0,0 +1,8 @@
+package io.mawhebty.projections;
+
+// a post whose likes_count (stored) differs from its post_likes row count (total)
+public interface PostLikesDriftProjection {
+    Long getId();
+    Long getStored();
+    Long getTotal();
+}
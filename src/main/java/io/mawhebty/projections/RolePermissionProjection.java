@@ -0,0 +1,8 @@
+package io.mawhebty.projections;
+
+import io.mawhebty.enums.UserRoleEnum;
+
+public interface RolePermissionProjection {
+    UserRoleEnum getRole();
+    Integer getPermissionId();
+}
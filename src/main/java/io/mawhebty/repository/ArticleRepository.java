@@ -2,6 +2,7 @@ package io.mawhebty.repository;
 
 import io.mawhebty.enums.ArticleStatusEnum;
 import io.mawhebty.models.Article;
+import io.mawhebty.projections.ArticleVersionProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -54,12 +55,8 @@ public interface ArticleRepository
     @Query("""
         SELECT a FROM Article a
         WHERE a.status = :published
-        AND (
-            LOWER(a.titleEn) LIKE LOWER(CONCAT('%', :query, '%'))
-            OR LOWER(a.titleAr) LIKE LOWER(CONCAT('%', :query, '%'))
-            OR LOWER(a.tags) LIKE LOWER(CONCAT('%', :query, '%'))
-        )
-        ORDER BY a.publishedAt DESC
+        AND fts_match(a.searchVector, :query) = true
+        ORDER BY fts_rank(a.searchVector, :query) DESC, a.publishedAt DESC
     """)
     Page<Article> searchArticles(
             @Param("query") String query,
@@ -82,6 +79,20 @@ public interface ArticleRepository
 
     Optional<Article> findByIdAndStatus(Long id, ArticleStatusEnum status);
 
+    // conditional GET: a deleted section shows up in the count, an edited one in its updatedAt
+    @Query("""
+        SELECT a.updatedAt AS updatedAt,
+               MAX(s.updatedAt) AS sectionsUpdatedAt,
+               COUNT(s) AS sectionCount
+        FROM Article a
+        LEFT JOIN a.sections s
+        WHERE a.id = :id
+        AND a.status = :status
+        GROUP BY a.id, a.updatedAt
+    """)
+    Optional<ArticleVersionProjection> findVersionByIdAndStatus(@Param("id") Long id,
+                                                                @Param("status") ArticleStatusEnum status);
+
 
     /* ===================== CATEGORY + SUB ===================== */
 
@@ -90,9 +101,7 @@ public interface ArticleRepository
         WHERE a.status = :published
         AND a.category.id = :categoryId
         AND (:subCategoryId IS NULL OR a.subCategory.id = :subCategoryId)
-        AND ( :search IS NULL OR LOWER(a.titleEn) LIKE LOWER(CONCAT('%', :search, '%'))
-            OR LOWER(a.titleAr) LIKE LOWER(CONCAT('%', :search, '%'))
-            OR LOWER(a.tags) LIKE LOWER(CONCAT('%', :search, '%')) )
+        AND ( :search IS NULL OR fts_match(a.searchVector, :search) = true )
         ORDER BY a.publishedAt DESC
     """)
     Page<Article> findByCategoryAndSubCategory(
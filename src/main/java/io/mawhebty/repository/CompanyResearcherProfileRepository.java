@@ -1,9 +1,20 @@
 package io.mawhebty.repository;
 
 import io.mawhebty.models.CompanyResearcherProfile;
+import io.mawhebty.projections.OwnerProfileProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CompanyResearcherProfileRepository extends IResearcherProfileRepository, JpaRepository<CompanyResearcherProfile, Long> {
-}
\ No newline at end of file
+
+    // company name is exposed as the owner's first name, there is no last name
+    @Query(value = "SELECT user_id AS userId, company_name AS firstName, CAST(NULL AS VARCHAR) AS lastName, " +
+            "profile_picture AS imageUrl FROM company_researcher_profile WHERE user_id IN (:userIds)", nativeQuery = true)
+    List<OwnerProfileProjection> findOwnerProfilesByUserIds(@Param("userIds") Collection<Long> userIds);
+}
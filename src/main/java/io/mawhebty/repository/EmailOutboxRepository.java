@@ -0,0 +1,66 @@
+package io.mawhebty.repository;
+
+import io.mawhebty.enums.EmailOutboxStatus;
+import io.mawhebty.models.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // claims up to batchSize due messages by leasing them until leaseUntil; SKIP LOCKED lets
+    // dispatchers on several instances claim disjoint batches
+    @Transactional
+    @Query(value = "UPDATE email_outbox SET next_attempt_at = :leaseUntil, updated_at = :now " +
+            "WHERE id IN (SELECT id FROM email_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *", nativeQuery = true)
+    List<EmailOutboxMessage> claimDue(@Param("batchSize") int batchSize,
+                                      @Param("leaseUntil") LocalDateTime leaseUntil,
+                                      @Param("now") LocalDateTime now);
+
+    // the body goes once it is sent, an OTP mail should not outlive its code in the table
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :status, m.sentAt = :now, m.lastError = null, m.body = '', " +
+            "m.updatedAt = :now WHERE m.id = :id")
+    int markSent(@Param("id") Long id, @Param("status") EmailOutboxStatus status, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :status, m.attempts = :attempts, " +
+            "m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError, m.updatedAt = :now " +
+            "WHERE m.id = :id")
+    int markFailedAttempt(@Param("id") Long id,
+                          @Param("status") EmailOutboxStatus status,
+                          @Param("attempts") int attempts,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError,
+                          @Param("now") LocalDateTime now);
+
+    // a message given up on keeps its error for inspection, but not its body
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :status, m.attempts = :attempts, " +
+            "m.lastError = :lastError, m.body = '', m.updatedAt = :now WHERE m.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") EmailOutboxStatus status,
+                   @Param("attempts") int attempts,
+                   @Param("lastError") String lastError,
+                   @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status IN :statuses AND m.updatedAt < :before")
+    int deleteFinishedBefore(@Param("statuses") List<EmailOutboxStatus> statuses, @Param("before") LocalDateTime before);
+
+    long countByStatus(EmailOutboxStatus status);
+}
@@ -2,7 +2,7 @@ package io.mawhebty.repository;
 
 import io.mawhebty.enums.EventStatus;
 import io.mawhebty.models.Event;
-import io.mawhebty.models.TalentCategory;
+import io.mawhebty.projections.EventVersionProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
@@ -77,16 +78,9 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
     @Query("""
                 SELECT e FROM Event e
-                WHERE (
-                    LOWER(e.titleEn) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.titleAr) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.descriptionEn) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.descriptionAr) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.location) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.tags) LIKE LOWER(CONCAT('%', :query, '%'))
-                )
+                WHERE fts_match(e.searchVector, :query) = true
                 AND e.status != :cancelled
-                ORDER BY e.eventDate ASC
+                ORDER BY fts_rank(e.searchVector, :query) DESC, e.eventDate ASC
             """)
     Page<Event> searchEvents(
             @Param("query") String query,
@@ -129,14 +123,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
     @Query("""
                 SELECT COUNT(e) FROM Event e
-                WHERE (
-                    LOWER(e.titleEn) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.titleAr) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.descriptionEn) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.descriptionAr) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.location) LIKE LOWER(CONCAT('%', :query, '%'))
-                    OR LOWER(e.tags) LIKE LOWER(CONCAT('%', :query, '%'))
-                )
+                WHERE fts_match(e.searchVector, :query) = true
                 AND e.status != :cancelled
             """)
     Long countBySearchQuery(
@@ -150,12 +137,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
                 WHERE e.status != :cancelled
                 AND e.category.id = :categoryId
                 AND (:subCategoryId IS NULL OR e.subCategory.id = :subCategoryId)
-                AND ( :search IS NULL OR LOWER(e.titleEn) LIKE LOWER(CONCAT('%', :search, '%'))
-                    OR LOWER(e.titleAr) LIKE LOWER(CONCAT('%', :search, '%'))
-                    OR LOWER(e.descriptionEn) LIKE LOWER(CONCAT('%', :search, '%'))
-                    OR LOWER(e.descriptionAr) LIKE LOWER(CONCAT('%', :search, '%'))
-                    OR LOWER(e.location) LIKE LOWER(CONCAT('%', :search, '%'))
-                    OR LOWER(e.tags) LIKE LOWER(CONCAT('%', :search, '%')) )
+                AND ( :search IS NULL OR fts_match(e.searchVector, :search) = true )
                 ORDER BY e.eventDate ASC
             """)
     Page<Event> findByCategoryAndSubCategory(
@@ -167,9 +149,15 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
     /* ===================== MISC ===================== */
 
-    List<Event> findTop5ByCategoryAndIdNotOrderByEventDateAsc(
-            TalentCategory category,
-            Long id);
+    List<Event> findByCategoryId(Integer categoryId, Pageable pageable);
 
     List<Event> findByIdInOrderByEventDateAsc(List<Long> ids);
+
+    // conditional GET: the event's own version, and the category its related events come from
+    @Query("""
+                SELECT e.updatedAt AS updatedAt, e.category.id AS categoryId
+                FROM Event e
+                WHERE e.id = :id
+            """)
+    Optional<EventVersionProjection> findVersionById(@Param("id") Long id);
 }
@@ -1,9 +1,19 @@
 package io.mawhebty.repository;
 
 import io.mawhebty.models.IndividualResearcherProfile;
+import io.mawhebty.projections.OwnerProfileProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface IndividualResearcherProfileRepository extends IResearcherProfileRepository, JpaRepository<IndividualResearcherProfile, Long> {
-}
\ No newline at end of file
+
+    @Query(value = "SELECT user_id AS userId, first_name AS firstName, last_name AS lastName, " +
+            "profile_picture AS imageUrl FROM individual_researcher_profile WHERE user_id IN (:userIds)", nativeQuery = true)
+    List<OwnerProfileProjection> findOwnerProfilesByUserIds(@Param("userIds") Collection<Long> userIds);
+}
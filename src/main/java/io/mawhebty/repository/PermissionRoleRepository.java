@@ -1,7 +1,14 @@
 package io.mawhebty.repository;
 
 import io.mawhebty.models.PermissionRole;
+import io.mawhebty.projections.RolePermissionProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface PermissionRoleRepository extends JpaRepository<PermissionRole, Integer> {
-}
\ No newline at end of file
+
+    @Query("SELECT pr.role.name AS role, pr.permission.id AS permissionId FROM PermissionRole pr")
+    List<RolePermissionProjection> findAllRolePermissions();
+}
@@ -0,0 +1,27 @@
+package io.mawhebty.repository;
+
+import io.mawhebty.models.PostLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
+
+    // 1 when the like was recorded, 0 when the user had already liked the post
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO post_likes (post_id, user_id, created_at, updated_at) " +
+            "VALUES (:postId, :userId, now(), now()) " +
+            "ON CONFLICT (post_id, user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // 1 when a like was removed, 0 when there was none
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM post_likes WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+}
@@ -7,13 +7,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import io.mawhebty.models.Post;
 import io.mawhebty.models.PostStatus;
 import io.mawhebty.models.PostVisibility;
-import io.mawhebty.models.TalentCategory;
+import io.mawhebty.projections.PostLikesCountProjection;
+import io.mawhebty.projections.PostLikesDriftProjection;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post> {
@@ -86,11 +89,7 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
                   AND p.visibility.id = :publicVisibilityId
                   AND p.category.id = :categoryId
                   AND ( :subCategoryId IS NULL OR p.subCategory.id = :subCategoryId )
-                  AND (
-                        :search IS NULL
-                        OR LOWER(p.title) LIKE LOWER(CONCAT('%', :search, '%'))
-                        OR LOWER(p.caption) LIKE LOWER(CONCAT('%', :search, '%'))
-                      )
+                  AND ( :search IS NULL OR fts_match(p.searchVector, :search) = true )
             """)
     Page<Post> findPublicByOwnerIdAndCategoryIdSubCategoryId(
             @Param("ownerId") Long ownerId,
@@ -103,10 +102,42 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
 
     Optional<Post> findByIdAndStatusAndVisibility(Long id, PostStatus status, PostVisibility visibility);
 
-    List<Post> findTop5ByCategoryAndIdNotAndStatusAndVisibilityOrderByCreatedAtDesc(
-            TalentCategory category,
-            Long id,
+    List<Post> findByCategoryIdAndStatusAndVisibility(
+            Integer categoryId,
             PostStatus status,
-            PostVisibility visibility);
+            PostVisibility visibility,
+            Pageable pageable);
 
+    // applies a batch of like-count deltas in one statement; ids and deltas are parallel comma-separated lists
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE posts p SET likes_count = p.likes_count + d.delta " +
+            "FROM unnest(CAST(string_to_array(:ids, ',') AS BIGINT[]), " +
+            "CAST(string_to_array(:deltas, ',') AS BIGINT[])) AS d(id, delta) " +
+            "WHERE p.id = d.id", nativeQuery = true)
+    int addToLikesCounts(@Param("ids") String ids, @Param("deltas") String deltas);
+
+    @Query("SELECT p.id AS id, p.likesCount AS likesCount FROM Post p WHERE p.id IN :ids")
+    List<PostLikesCountProjection> findLikesCountsByIds(@Param("ids") List<Long> ids);
+
+    @Query(value = "SELECT id FROM posts WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // posts of an id range whose likes_count differs from their post_likes row count
+    @Query(value = "SELECT p.id AS id, p.likes_count AS stored, l.total AS total " +
+            "FROM posts p CROSS JOIN LATERAL (SELECT COUNT(*) AS total FROM post_likes pl WHERE pl.post_id = p.id) l " +
+            "WHERE p.id BETWEEN :fromId AND :toId AND p.likes_count <> l.total", nativeQuery = true)
+    List<PostLikesDriftProjection> findLikesCountDrift(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // resets likes_count to total where neither likes_count nor the post_likes count moved since they were read;
+    // ids, stored and totals are parallel comma-separated lists
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE posts p SET likes_count = d.total " +
+            "FROM unnest(CAST(string_to_array(:ids, ',') AS BIGINT[]), " +
+            "CAST(string_to_array(:stored, ',') AS BIGINT[]), " +
+            "CAST(string_to_array(:totals, ',') AS BIGINT[])) AS d(id, stored, total) " +
+            "WHERE p.id = d.id AND p.likes_count = d.stored " +
+            "AND (SELECT COUNT(*) FROM post_likes pl WHERE pl.post_id = p.id) = d.total", nativeQuery = true)
+    int resetLikesCounts(@Param("ids") String ids, @Param("stored") String stored, @Param("totals") String totals);
 }
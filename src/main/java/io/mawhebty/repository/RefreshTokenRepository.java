@@ -0,0 +1,47 @@
+package io.mawhebty.repository;
+
+import io.mawhebty.models.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    // 1 when this caller rotated the token, 0 when it was already rotated, revoked or is unknown
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.rotatedAt = :now, t.updatedAt = :now " +
+            "WHERE t.jti = :jti AND t.familyId = :familyId AND t.userId = :userId " +
+            "AND t.rotatedAt IS NULL AND t.revokedAt IS NULL AND t.expiresAt > :now")
+    int markRotated(@Param("jti") UUID jti, @Param("familyId") UUID familyId,
+                    @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now, t.updatedAt = :now " +
+            "WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    boolean existsByFamilyIdAndRevokedAtIsNotNull(UUID familyId);
+
+    // revoked families whose tokens have not all expired yet
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t WHERE t.revokedAt IS NOT NULL AND t.expiresAt > :now")
+    List<UUID> findLiveRevokedFamilyIds(@Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t " +
+            "WHERE t.revokedAt IS NOT NULL AND t.revokedAt >= :since AND t.expiresAt > :now")
+    List<UUID> findFamilyIdsRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
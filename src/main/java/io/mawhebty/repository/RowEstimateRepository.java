@@ -0,0 +1,92 @@
+package io.mawhebty.repository;
+
+import io.mawhebty.enums.EventStatus;
+import io.mawhebty.enums.EventType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Planner row estimates (EXPLAIN, no execution) for the list filters, used as a cheap approximate total.
+ * Each estimate mirrors the filters of the matching specification; keep them in sync.
+ */
+@Repository
+public class RowEstimateRepository {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public long estimatePosts(Integer statusId, Integer visibilityId, Integer categoryId,
+                              Integer subCategoryId, Long ownerId, String search) {
+        return new Filter("SELECT 1 FROM posts")
+                .and("status_id = :statusId", "statusId", statusId)
+                .and("visibility_id = :visibilityId", "visibilityId", visibilityId)
+                .and("category_id = :categoryId", "categoryId", categoryId)
+                .and("sub_category_id = :subCategoryId", "subCategoryId", subCategoryId)
+                .and("owner_user_id = :ownerId", "ownerId", ownerId)
+                .and("search_vector @@ mawhebty_search_query(:search)", "search", blankToNull(search))
+                .explain();
+    }
+
+    public long estimateEvents(EventStatus status, EventType type, Boolean isFree, String search,
+                               LocalDateTime startDate, LocalDateTime endDate) {
+        return new Filter("SELECT 1 FROM events")
+                .and("status = :status", "status", status != null ? status.name() : null)
+                .and("type = :type", "type", type != null ? type.name() : null)
+                .and("is_free = :isFree", "isFree", isFree)
+                .and("search_vector @@ mawhebty_search_query(:search)", "search", blankToNull(search))
+                .and("event_date >= :startDate", "startDate", startDate)
+                .and("event_date <= :endDate", "endDate", endDate)
+                .explain();
+    }
+
+    public long estimateArticles(Integer categoryId, Integer subCategoryId, String search) {
+        return new Filter("SELECT 1 FROM articles")
+                .and("category_id = :categoryId", "categoryId", categoryId)
+                .and("sub_category_id = :subCategoryId", "subCategoryId", subCategoryId)
+                .and("search_vector @@ mawhebty_search_query(:search)", "search", blankToNull(search))
+                .explain();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // only the filters that are actually set become part of the statement
+    private final class Filter {
+        private final StringBuilder sql;
+        private final Map<String, Object> params = new LinkedHashMap<>();
+
+        private Filter(String select) {
+            this.sql = new StringBuilder(select);
+        }
+
+        private Filter and(String condition, String name, Object value) {
+            if (value != null) {
+                sql.append(params.isEmpty() ? " WHERE " : " AND ").append(condition);
+                params.put(name, value);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private long explain() {
+            Query query = entityManager.createNativeQuery("EXPLAIN " + sql);
+            params.forEach(query::setParameter);
+            // first line is the top plan node: "... (cost=0.00..35.50 rows=1234 width=4)"
+            List<Object> plan = query.getResultList();
+            Matcher matcher = plan.isEmpty() ? null : PLAN_ROWS.matcher(String.valueOf(plan.get(0)));
+            return matcher != null && matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,6 +55,13 @@ public interface SavedItemRepository extends JpaRepository<SavedItem, Long> {
             "AND a.status = 'PUBLISHED' ", nativeQuery = true)
     Page<SavedItem> findSavedArticles(@Param("userId") Long userId, Pageable pageable);
 
+    // Which of the given items the user has saved: one lookup per page, served by idx_saved_item_unique
+    @Query(value = "SELECT si.item_id FROM saved_items si " +
+            "WHERE si.user_id = :userId AND si.item_type_id = :itemType AND si.item_id IN (:itemIds)", nativeQuery = true)
+    List<Long> findSavedItemIds(@Param("userId") Long userId,
+            @Param("itemType") int itemType,
+            @Param("itemIds") Collection<Long> itemIds);
+
     // Count queries
     @Query(value = "SELECT COUNT(*) FROM saved_items WHERE user_id = :userId", nativeQuery = true)
     Long countByUserId(@Param("userId") Long userId);
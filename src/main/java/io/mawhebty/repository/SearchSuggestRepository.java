@@ -0,0 +1,90 @@
+package io.mawhebty.repository;
+
+import io.mawhebty.dtos.SearchSuggestionDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Title suggestions across posts, events, articles and categories in a single round trip.
+ * Every branch is served by the trigram indexes from V20261017110000 (word_similarity, {@code <%}).
+ */
+@Repository
+public class SearchSuggestRepository {
+
+    private static final String TERM = "mawhebty_normalize_ar(lower(:term))";
+
+    private static final String SUGGEST_SQL = """
+            SELECT s.type, s.id, s.title_en, s.title_ar, s.score
+            FROM (
+                (SELECT 'POST' AS type, p.id AS id, p.title AS title_en, p.title AS title_ar,
+                        word_similarity(%1$s, mawhebty_normalize_ar(lower(p.title))) AS score
+                 FROM posts p
+                 WHERE %1$s <%% mawhebty_normalize_ar(lower(p.title))
+                   AND p.status_id = :publishedStatusId
+                   AND p.visibility_id = :publicVisibilityId
+                 ORDER BY score DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT 'EVENT', e.id, e.title_en, e.title_ar,
+                        greatest(word_similarity(%1$s, mawhebty_normalize_ar(lower(e.title_en))),
+                                 word_similarity(%1$s, mawhebty_normalize_ar(lower(e.title_ar)))) AS score
+                 FROM events e
+                 WHERE (%1$s <%% mawhebty_normalize_ar(lower(e.title_en))
+                        OR %1$s <%% mawhebty_normalize_ar(lower(e.title_ar)))
+                   AND e.status <> 'CANCELLED'
+                 ORDER BY score DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT 'ARTICLE', a.id, a.title_en, a.title_ar,
+                        greatest(word_similarity(%1$s, mawhebty_normalize_ar(lower(a.title_en))),
+                                 word_similarity(%1$s, mawhebty_normalize_ar(lower(a.title_ar)))) AS score
+                 FROM articles a
+                 WHERE (%1$s <%% mawhebty_normalize_ar(lower(a.title_en))
+                        OR %1$s <%% mawhebty_normalize_ar(lower(a.title_ar)))
+                   AND a.status = 'PUBLISHED'
+                 ORDER BY score DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT 'CATEGORY', c.id, c.name_en, c.name_ar,
+                        greatest(word_similarity(%1$s, mawhebty_normalize_ar(lower(c.name_en))),
+                                 word_similarity(%1$s, mawhebty_normalize_ar(lower(c.name_ar)))) AS score
+                 FROM talent_categories c
+                 WHERE %1$s <%% mawhebty_normalize_ar(lower(c.name_en))
+                    OR %1$s <%% mawhebty_normalize_ar(lower(c.name_ar))
+                 ORDER BY score DESC
+                 LIMIT :limit)
+            ) s
+            ORDER BY s.score DESC, s.type, s.id DESC
+            LIMIT :limit
+            """.formatted(TERM);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @SuppressWarnings("unchecked")
+    public List<SearchSuggestionDto> findSuggestions(String term,
+                                                     Integer publishedStatusId,
+                                                     Integer publicVisibilityId,
+                                                     int limit) {
+        List<Tuple> rows = entityManager.createNativeQuery(SUGGEST_SQL, Tuple.class)
+                .setParameter("term", term)
+                .setParameter("publishedStatusId", publishedStatusId)
+                .setParameter("publicVisibilityId", publicVisibilityId)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> SearchSuggestionDto.builder()
+                        .type(row.get(0, String.class))
+                        .id(((Number) row.get(1)).longValue())
+                        .titleEn(row.get(2, String.class))
+                        .titleAr(row.get(3, String.class))
+                        .score(((Number) row.get(4)).doubleValue())
+                        .build())
+                .toList();
+    }
+}
@@ -1,9 +1,11 @@
 package io.mawhebty.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import io.mawhebty.models.TalentCategory;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +15,7 @@ public interface TalentCategoryRepository extends JpaRepository<TalentCategory,
     boolean existsByNameArOrNameEn(String nameEn, String nameAr);
     Optional<TalentCategory> findByPartnerId(Integer partnerId);
 
+    // the whole category tree in one query (sub-categories fetched with their parent)
+    @Query("SELECT DISTINCT c FROM TalentCategory c LEFT JOIN FETCH c.talentSubCategories ORDER BY c.id")
+    List<TalentCategory> findAllWithSubCategories();
 }
\ No newline at end of file
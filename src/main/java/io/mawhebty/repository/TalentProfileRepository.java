@@ -1,13 +1,23 @@
 package io.mawhebty.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import io.mawhebty.models.TalentProfile;
+import io.mawhebty.projections.OwnerProfileProjection;
 
 @Repository
 public interface TalentProfileRepository extends JpaRepository<TalentProfile, Long> {
 
     Optional<TalentProfile> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Owner name/avatar for a whole page of posts in one round trip
+    @Query(value = "SELECT user_id AS userId, first_name AS firstName, last_name AS lastName, " +
+            "profile_picture AS imageUrl FROM talent_profile WHERE user_id IN (:userIds)", nativeQuery = true)
+    List<OwnerProfileProjection> findOwnerProfilesByUserIds(@Param("userIds") Collection<Long> userIds);
+}
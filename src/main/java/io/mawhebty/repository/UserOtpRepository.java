@@ -2,9 +2,11 @@ package io.mawhebty.repository;
 
 import io.mawhebty.models.UserOTP;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -53,7 +55,17 @@ public interface UserOtpRepository extends JpaRepository<UserOTP, Long> {
     Optional<UserOTP> findByHashedCodeAndActive(@Param("hashedCode") String hashedCode,
             @Param("currentTime") LocalDateTime currentTime);
 
-    // Cleanup expired OTPs
-    @Query("DELETE FROM UserOTP otp WHERE otp.expiryDate < :expiryTime")
-    void deleteExpiredOtps(@Param("expiryTime") LocalDateTime expiryTime);
+    // expiryDate is the partition key, it prunes the update to one partition;
+    // 1 when an attempt was still available and is now taken, 0 once the code is out of attempts
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserOTP otp SET otp.attempts = otp.attempts + 1 " +
+            "WHERE otp.id = :id AND otp.expiryDate = :expiryDate AND otp.attempts < :maxAttempts")
+    int takeAttempt(@Param("id") Long id, @Param("expiryDate") LocalDateTime expiryDate,
+                    @Param("maxAttempts") int maxAttempts);
+
+    // creates the coming day partitions and drops the expired ones, returns how many were dropped
+    @Transactional
+    @Query(value = "SELECT user_otp_maintain_partitions(:daysAhead, :retainDays)", nativeQuery = true)
+    int maintainPartitions(@Param("daysAhead") int daysAhead, @Param("retainDays") int retainDays);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package io.mawhebty.repository.specification;
 
 import io.mawhebty.enums.ArticleStatusEnum;
 import io.mawhebty.models.Article;
+import io.mawhebty.support.KeysetCursor;
 import org.springframework.data.jpa.domain.Specification;
 
 public class ArticleSpecification {
@@ -16,20 +17,19 @@ public class ArticleSpecification {
     }
 
     public static Specification<Article> search(String keyword) {
-        return (root, query, cb) -> {
-            if (keyword == null || keyword.isBlank())
-                return null;
-
-            String like = "%" + keyword.toLowerCase() + "%";
+        return FullTextSpecification.matches(keyword);
+    }
 
-            return cb.or(
-                    cb.like(cb.lower(root.get("titleEn")), like),
-                    cb.like(cb.lower(root.get("titleAr")), like));
-        };
+    public static Specification<Article> rankedBy(String keyword) {
+        return FullTextSpecification.orderByRank(keyword, "publishedAt");
     }
 
     public static Specification<Article> hasStatus(ArticleStatusEnum status) {
         return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
     }
 
+    public static Specification<Article> publishedAfter(KeysetCursor cursor, boolean ascending) {
+        return KeysetSpecification.after("publishedAt", cursor, ascending);
+    }
+
 }
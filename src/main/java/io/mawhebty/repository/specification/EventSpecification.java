@@ -3,6 +3,7 @@ package io.mawhebty.repository.specification;
 import io.mawhebty.enums.EventStatus;
 import io.mawhebty.enums.EventType;
 import io.mawhebty.models.Event;
+import io.mawhebty.support.KeysetCursor;
 import org.springframework.data.jpa.domain.Specification;
 import java.time.LocalDateTime;
 
@@ -25,19 +26,11 @@ public class EventSpecification {
     }
 
     public static Specification<Event> search(String keyword) {
-        return (root, query, cb) -> {
-            if (keyword == null || keyword.isBlank())
-                return null;
-
-            String like = "%" + keyword.toLowerCase() + "%";
+        return FullTextSpecification.matches(keyword);
+    }
 
-            return cb.or(
-                    cb.like(cb.lower(root.get("titleEn")), like),
-                    cb.like(cb.lower(root.get("titleAr")), like),
-                    cb.like(cb.lower(root.get("descriptionEn")), like),
-                    cb.like(cb.lower(root.get("descriptionAr")), like),
-                    cb.like(cb.lower(root.get("location")), like));
-        };
+    public static Specification<Event> rankedBy(String keyword) {
+        return FullTextSpecification.orderByRank(keyword, "eventDate");
     }
 
     public static Specification<Event> betweenDates(LocalDateTime start, LocalDateTime end) {
@@ -60,4 +53,8 @@ public class EventSpecification {
         return (root, query, cb) -> subCategoryId == null ? null
                 : cb.equal(root.get("subCategory").get("id"), subCategoryId);
     }
+
+    public static Specification<Event> eventDateAfter(KeysetCursor cursor, boolean ascending) {
+        return KeysetSpecification.after("eventDate", cursor, ascending);
+    }
 }
@@ -0,0 +1,30 @@
+package io.mawhebty.repository.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public class FullTextSpecification {
+
+    // search_vector matches the (normalized) search text
+    public static <T> Specification<T> matches(String search) {
+        return (root, query, cb) -> {
+            if (search == null || search.isBlank()) return null;
+            return cb.isTrue(cb.function("fts_match", Boolean.class,
+                    root.get("searchVector"), cb.literal(search.trim())));
+        };
+    }
+
+    // best match first, newest first between equal ranks; use with an unsorted Pageable so the order survives
+    public static <T> Specification<T> orderByRank(String search, String dateProperty) {
+        return (root, query, cb) -> {
+            if (search == null || search.isBlank()) return null;
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        cb.desc(cb.function("fts_rank", Float.class,
+                                root.get("searchVector"), cb.literal(search.trim()))),
+                        cb.desc(root.get(dateProperty)),
+                        cb.desc(root.get("id")));
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package io.mawhebty.repository.specification;
+
+import io.mawhebty.support.KeysetCursor;
+import jakarta.persistence.criteria.Path;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.domain.Specification;
+
+public class KeysetSpecification {
+
+    // rows strictly after the cursor in (property, id) order
+    public static <T> Specification<T> after(String property, KeysetCursor cursor, boolean ascending) {
+        return (root, query, cb) -> {
+            if (cursor == null || cursor.isStart()) return null;
+
+            Path<LocalDateTime> position = root.get(property);
+            Path<Long> id = root.get("id");
+
+            if (ascending) {
+                return cb.or(
+                        cb.greaterThan(position, cursor.getPosition()),
+                        cb.and(cb.equal(position, cursor.getPosition()), cb.greaterThan(id, cursor.getId())));
+            }
+            return cb.or(
+                    cb.lessThan(position, cursor.getPosition()),
+                    cb.and(cb.equal(position, cursor.getPosition()), cb.lessThan(id, cursor.getId())));
+        };
+    }
+}
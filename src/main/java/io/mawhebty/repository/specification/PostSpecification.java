@@ -3,6 +3,7 @@ package io.mawhebty.repository.specification;
 import io.mawhebty.models.Post;
 import io.mawhebty.models.PostStatus;
 import io.mawhebty.models.PostVisibility;
+import io.mawhebty.support.KeysetCursor;
 import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
@@ -54,15 +55,14 @@ public class PostSpecification {
     }
 
     public static Specification<Post> search(String search) {
-        return (root, query, criteriaBuilder) -> {
-            if (search == null || search.trim().isEmpty()) {
-                return criteriaBuilder.conjunction();
-            }
-            String likePattern = "%" + search.toLowerCase() + "%";
-            return criteriaBuilder.or(
-                criteriaBuilder.like(criteriaBuilder.lower(root.get("title")), likePattern),
-                criteriaBuilder.like(criteriaBuilder.lower(root.get("caption")), likePattern)
-            );
-        };
+        return FullTextSpecification.matches(search);
+    }
+
+    public static Specification<Post> rankedBy(String search) {
+        return FullTextSpecification.orderByRank(search, "createdAt");
+    }
+
+    public static Specification<Post> createdAfter(KeysetCursor cursor, boolean ascending) {
+        return KeysetSpecification.after("createdAt", cursor, ascending);
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package io.mawhebty.security;
+
+import io.mawhebty.enums.UserRoleEnum;
+import io.mawhebty.enums.UserStatusEnum;
+import io.mawhebty.models.User;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What authentication needs from a user row, copied out of the entity so it can be cached
+ * across requests: identity, role, status, verified flag and the granted authorities.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class AuthSnapshot {
+
+    private final Long userId;
+    private final String email;
+    private final UserRoleEnum role;
+    private final String status;
+    private final boolean verified;
+    private final List<GrantedAuthority> authorities;
+
+    public static AuthSnapshot of(User user) {
+        UserRoleEnum role = user.getRole() != null ? user.getRole().getName() : null;
+        String status = user.getStatus() != null ? user.getStatus().getName() : null;
+        boolean verified = Boolean.TRUE.equals(user.getIsVerified());
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (role != null) {
+            String roleName = role.name();
+            if (!roleName.startsWith("ROLE_")) {
+                roleName = "ROLE_" + roleName.toUpperCase();
+            }
+            authorities.add(new SimpleGrantedAuthority(roleName));
+        }
+        if (UserStatusEnum.ACTIVE.getName().equals(status)) {
+            authorities.add(new SimpleGrantedAuthority("USER_ACTIVE"));
+        }
+        if (verified) {
+            authorities.add(new SimpleGrantedAuthority("USER_VERIFIED"));
+        }
+
+        return new AuthSnapshot(user.getId(), user.getEmail(), role, status, verified,
+                Collections.unmodifiableList(authorities));
+    }
+
+    public boolean isActive() {
+        return UserStatusEnum.ACTIVE.getName().equals(status);
+    }
+
+    public boolean isAccountNonLocked() {
+        return !UserStatusEnum.REJECTED.getName().equals(status) &&
+                !UserStatusEnum.SUSPENDED.getName().equals(status);
+    }
+
+    public boolean isEnabled() {
+        return status == null ||
+                UserStatusEnum.ACTIVE.getName().equals(status) ||
+                UserStatusEnum.PENDING_MODERATION.getName().equals(status);
+    }
+}
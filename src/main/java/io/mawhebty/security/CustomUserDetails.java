@@ -1,57 +1,41 @@
 package io.mawhebty.security;
 
-import io.mawhebty.enums.UserStatusEnum;
-import io.mawhebty.models.User;
+import io.mawhebty.enums.PermissionEnum;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.EnumSet;
 
-@Component
-public class CustomUserDetails implements UserDetails {
+/**
+ * The authenticated platform user of one request. Created per request by RequestAuthenticationFilter
+ * and immutable, so concurrent requests never see each other's identity.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class CustomUserDetails implements UserDetails {
 
-    @Getter
-    @Setter
-    private User user;
+    private final AuthSnapshot snapshot;
+    // the access token's permissions, see PermissionMask
+    private final long permissionMask;
 
+    // computed once per snapshot, not per call
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<GrantedAuthority> authorities = new ArrayList<>();
-
-        if (user.getRole() != null) {
-            String roleName = user.getRole().getName().name();
-            if (!roleName.startsWith("ROLE_")) {
-                roleName = "ROLE_" + roleName.toUpperCase();
-            }
-            authorities.add(new SimpleGrantedAuthority(roleName));
-        }
-
-        if (user.getStatus() != null && UserStatusEnum.ACTIVE.getName().equals(user.getStatus().getName())) {
-            authorities.add(new SimpleGrantedAuthority("USER_ACTIVE"));
-        }
-
-        if (user.getIsVerified() != null && user.getIsVerified()) {
-            authorities.add(new SimpleGrantedAuthority("USER_VERIFIED"));
-        }
-
-        return authorities;
+        return snapshot.getAuthorities();
     }
 
+    // tokens are the only credential, no password is kept in the principal
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return null;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return snapshot.getEmail();
     }
 
     @Override
@@ -61,11 +45,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        if (user.getStatus() != null) {
-            return !UserStatusEnum.REJECTED.getName().equals(user.getStatus().getName()) &&
-                    !UserStatusEnum.SUSPENDED.getName().equals(user.getStatus().getName());
-        }
-        return true;
+        return snapshot.isAccountNonLocked();
     }
 
     @Override
@@ -75,14 +55,18 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        if (user.getStatus() != null) {
-            return UserStatusEnum.ACTIVE.getName().equals(user.getStatus().getName()) ||
-                    UserStatusEnum.PENDING_MODERATION.getName().equals(user.getStatus().getName());
-        }
-        return true;
+        return snapshot.isEnabled();
     }
 
     public Long getUserId() {
-        return user.getId();
+        return snapshot.getUserId();
+    }
+
+    public boolean hasPermission(PermissionEnum permission) {
+        return PermissionMask.has(permissionMask, permission);
+    }
+
+    public EnumSet<PermissionEnum> getPermissions() {
+        return PermissionMask.toSet(permissionMask);
     }
-}
\ No newline at end of file
+}
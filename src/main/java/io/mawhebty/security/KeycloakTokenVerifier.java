@@ -0,0 +1,99 @@
+package io.mawhebty.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies Keycloak access tokens for the internal-service endpoints locally: RS256 signature
+ * against the realm's JWKS, expiry and issuer. The key set is cached and refreshed in the
+ * background ahead of expiry; a token signed with an unknown kid (key rotation) triggers one
+ * refetch that concurrent requests wait on, rate limited so bad kids cannot hammer Keycloak.
+ */
+@Slf4j
+@Component
+public class KeycloakTokenVerifier {
+
+    private final JWKSource<SecurityContext> jwkSource;
+    private final NimbusJwtDecoder decoder;
+
+    @Autowired
+    public KeycloakTokenVerifier(@Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                                 @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                 @Value("${keycloak.jwks.cache-ttl-seconds:300}") long cacheTtlSeconds,
+                                 @Value("${keycloak.jwks.refresh-ahead-seconds:30}") long refreshAheadSeconds,
+                                 @Value("${keycloak.jwks.refresh-timeout-ms:5000}") long refreshTimeoutMs)
+            throws MalformedURLException {
+        this(JWKSourceBuilder.<SecurityContext>create(URI.create(jwkSetUri).toURL())
+                        .cache(cacheTtlSeconds * 1000, refreshTimeoutMs)
+                        .refreshAheadCache(refreshAheadSeconds * 1000, true)
+                        .build(),
+                issuerUri);
+    }
+
+    // any key source will do, e.g. an in-memory key set
+    public KeycloakTokenVerifier(JWKSource<SecurityContext> jwkSource, String issuerUri) {
+        this.jwkSource = jwkSource;
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // expiry and issuer are checked by the decoder's validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        // stops the background refresh
+        if (jwkSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * @throws JwtException when the token is not a valid, unexpired token of the configured realm
+     */
+    public KeycloakIdentity verify(String token) {
+        Jwt jwt = decoder.decode(token);
+        return new KeycloakIdentity(jwt.getClaimAsString("preferred_username"), realmRoles(jwt));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> realmRoles(Jwt jwt) {
+        Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+        if (realmAccess != null && realmAccess.get("roles") instanceof List<?> roles) {
+            return List.copyOf((List<String>) roles);
+        }
+        return List.of();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class KeycloakIdentity {
+        private final String username;
+        private final List<String> roles;
+    }
+}
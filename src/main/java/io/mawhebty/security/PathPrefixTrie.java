@@ -0,0 +1,60 @@
+package io.mawhebty.security;
+
+import java.util.Arrays;
+
+/**
+ * Character trie over path prefixes, filled once at startup and only read afterwards.
+ * A lookup walks the path once and returns the value of the longest registered prefix,
+ * instead of testing every prefix with startsWith.
+ */
+final class PathPrefixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+
+    void put(String prefix, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        node.value = value;
+    }
+
+    V match(String path, V defaultValue) {
+        V match = defaultValue;
+        Node<V> node = root;
+        for (int i = 0; i < path.length() && node != null; i++) {
+            node = node.child(path.charAt(i));
+            if (node != null && node.value != null) {
+                match = node.value;
+            }
+        }
+        return match;
+    }
+
+    private static final class Node<V> {
+        // few children per node, a linear scan beats hashing here
+        private char[] keys = new char[0];
+        @SuppressWarnings("unchecked")
+        private Node<V>[] children = new Node[0];
+        private V value;
+
+        Node<V> child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) return children[i];
+            }
+            return null;
+        }
+
+        Node<V> childOrCreate(char key) {
+            Node<V> child = child(key);
+            if (child == null) {
+                child = new Node<>();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
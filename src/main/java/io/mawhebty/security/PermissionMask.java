@@ -0,0 +1,76 @@
+package io.mawhebty.security;
+
+import io.mawhebty.enums.PermissionEnum;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Permission sets as a long, one bit per {@link PermissionEnum#bit()}, and their token form:
+ * the mask's significant bytes, big-endian, base64url without padding (17 permissions fit in 4 chars).
+ */
+public final class PermissionMask {
+
+    private PermissionMask() {
+    }
+
+    public static long of(Collection<PermissionEnum> permissions) {
+        long mask = 0L;
+        for (PermissionEnum permission : permissions) {
+            mask |= permission.bit();
+        }
+        return mask;
+    }
+
+    public static boolean has(long mask, PermissionEnum permission) {
+        return (mask & permission.bit()) != 0;
+    }
+
+    public static EnumSet<PermissionEnum> toSet(long mask) {
+        EnumSet<PermissionEnum> permissions = EnumSet.noneOf(PermissionEnum.class);
+        for (PermissionEnum permission : PermissionEnum.values()) {
+            if (has(mask, permission)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    // permission ids in id order, the shape the registration responses expose
+    public static List<Integer> toIds(long mask) {
+        List<Integer> ids = new ArrayList<>();
+        for (PermissionEnum permission : toSet(mask)) {
+            ids.add(permission.getId());
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    public static String encode(long mask) {
+        int length = Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(mask) + 7) / 8);
+        byte[] bytes = new byte[length];
+        for (int i = length - 1; i >= 0; i--) {
+            bytes[i] = (byte) mask;
+            mask >>>= 8;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @throws IllegalArgumentException when the value is not base64url or longer than a long
+     */
+    public static long decode(String encoded) {
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        if (bytes.length > Long.BYTES) {
+            throw new IllegalArgumentException("Permission mask longer than " + Long.BYTES + " bytes");
+        }
+        long mask = 0L;
+        for (byte b : bytes) {
+            mask = (mask << 8) | (b & 0xFF);
+        }
+        return mask;
+    }
+}
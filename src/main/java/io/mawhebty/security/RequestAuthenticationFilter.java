@@ -0,0 +1,252 @@
+package io.mawhebty.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.mawhebty.enums.UserStatusEnum;
+import io.mawhebty.services.JWTService;
+import io.mawhebty.services.auth.AuthSnapshotCache;
+import io.mawhebty.services.auth.RefreshTokenStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The single authentication stage of the API. The route is classified once against a prefix trie,
+ * the Authorization header is read once, and the request is handed to one policy:
+ * Keycloak for internal services, or the platform token policy (session revocation and
+ * limited-access checks, then full authentication). The route class and the verified claims are left on the request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final PathPrefixTrie<RouteClass> ROUTES = routes();
+
+    private final JWTService jwtService;
+    private final AuthSnapshotCache authSnapshotCache;
+    private final KeycloakTokenVerifier keycloakTokenVerifier;
+    private final RefreshTokenStore refreshTokenStore;
+
+    private static PathPrefixTrie<RouteClass> routes() {
+        PathPrefixTrie<RouteClass> routes = new PathPrefixTrie<>();
+        List.of(
+                "/api/v1/auth",
+                "/api/v1/users",
+                "/api/v1/categories",
+                "/api/v1/sub-categories/",
+                "/api/v1/talent",
+                "/api/v1/public/",
+                "/swagger-ui/",
+                "/v3/api-docs",
+                "/actuator/health",
+                "/oauth2/authorization",
+                "/login/oauth2/code",
+                "/oauth2/callback",
+                "/login" // spring uses it internally
+        ).forEach(prefix -> routes.put(prefix, RouteClass.PUBLIC));
+
+        routes.put("/api/v1/internal-services/core/", RouteClass.INTERNAL_SERVICE);
+
+        List.of(
+                "/api/v1/mawhebty-platform/feeds",
+                "/api/v1/mawhebty-platform/posts",
+                "/api/v1/mawhebty-platform/search",
+                "/api/v1/mawhebty-platform/talents",
+                "/api/v1/mawhebty-platform/researchers",
+                "/api/v1/mawhebty-platform/profile",
+                "/api/v1/mawhebty-platform/categories",
+                "/api/v1/mawhebty-platform/events",
+                "/api/v1/mawhebty-platform/articles",
+                "/api/v1/mawhebty-platform/home/sections"
+        ).forEach(prefix -> routes.put(prefix, RouteClass.PLATFORM_READ));
+        return routes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI();
+        RouteClass route = ROUTES.match(path, RouteClass.PLATFORM);
+        request.setAttribute(RouteClass.REQUEST_ATTRIBUTE, route);
+
+        if (route == RouteClass.PUBLIC) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        boolean hasBearer = authHeader != null && authHeader.startsWith(BEARER_PREFIX);
+
+        if (route == RouteClass.INTERNAL_SERVICE) {
+            if (!hasBearer) {
+                sendError(response, HttpStatus.UNAUTHORIZED, "KEYCLOAK_AUTH_ERROR", "Missing or invalid Authorization header");
+                return;
+            }
+            if (authenticateInternalService(request, response, authHeader.substring(BEARER_PREFIX.length()), path)) {
+                filterChain.doFilter(request, response);
+            }
+            return;
+        }
+
+        // Platform routes: without a bearer token the request goes on anonymous, security rules decide
+        if (hasBearer && !authenticatePlatformUser(request, response, route, path)) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // ========== KEYCLOAK POLICY ==========
+
+    private boolean authenticateInternalService(HttpServletRequest request, HttpServletResponse response,
+                                                String jwt, String path) throws IOException {
+        // Signature, expiry and issuer are verified locally against the cached realm JWKS
+        KeycloakTokenVerifier.KeycloakIdentity identity;
+        try {
+            identity = keycloakTokenVerifier.verify(jwt);
+        } catch (org.springframework.security.oauth2.jwt.JwtException e) {
+            log.warn("Rejected Keycloak token for path: {} - {}", path, e.getMessage());
+            sendError(response, HttpStatus.UNAUTHORIZED, "KEYCLOAK_AUTH_ERROR", "Invalid Keycloak token");
+            return false;
+        }
+
+        if (identity.getUsername() == null) {
+            sendError(response, HttpStatus.UNAUTHORIZED, "KEYCLOAK_AUTH_ERROR", "Invalid Keycloak token");
+            return false;
+        }
+
+        // Check if user has DASHBOARD_ADMIN role
+        if (!identity.getRoles().contains("DASHBOARD_ADMIN")) {
+            sendError(response, HttpStatus.UNAUTHORIZED, "KEYCLOAK_AUTH_ERROR", "DASHBOARD_ADMIN role required");
+            return false;
+        }
+
+        UserDetails userDetails = User.builder()
+                .username(identity.getUsername())
+                .password("")
+                .authorities(identity.getRoles().stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList())
+                .build();
+
+        setAuthentication(request, userDetails);
+        log.info("Authenticated Keycloak admin: {} for path: {}", identity.getUsername(), path);
+        return true;
+    }
+
+    // ========== PLATFORM TOKEN POLICY ==========
+
+    private boolean authenticatePlatformUser(HttpServletRequest request, HttpServletResponse response,
+                                             RouteClass route, String path) throws IOException {
+        VerifiedClaims claims;
+        try {
+            claims = jwtService.getVerifiedClaims(request);
+        } catch (ExpiredJwtException e) {
+            log.warn("JWT Token expired for path: {}", path);
+            sendError(response, HttpStatus.UNAUTHORIZED, HttpStatus.UNAUTHORIZED.getReasonPhrase(), "Token has expired");
+            return false;
+        } catch (JwtException e) {
+            log.warn("Invalid JWT token for path: {} - Error: {}", path, e.getMessage());
+            sendError(response, HttpStatus.UNAUTHORIZED, HttpStatus.UNAUTHORIZED.getReasonPhrase(), e.getMessage());
+            return false;
+        }
+
+        // Logged out, or its refresh token was replayed: a Bloom filter miss for almost every token
+        if (refreshTokenStore.isFamilyRevoked(claims.getSessionId())) {
+            log.warn("Revoked session token for path: {}", path);
+            sendError(response, HttpStatus.UNAUTHORIZED, HttpStatus.UNAUTHORIZED.getReasonPhrase(), "Session has been revoked");
+            return false;
+        }
+
+        // Limited access: an account under moderation may only read a few platform routes
+        if (claims.isLimitedAccess()
+                && claims.getUserStatusEnum() == UserStatusEnum.PENDING_MODERATION
+                && !"OPTIONS".equalsIgnoreCase(request.getMethod())
+                && !(route == RouteClass.PLATFORM_READ && "GET".equalsIgnoreCase(request.getMethod()))) {
+            sendError(response, HttpStatus.FORBIDDEN, "AUTHORIZATION_ERROR",
+                    "Account under moderation review. Please wait for approval.");
+            return false;
+        }
+
+        String userEmail = claims.getEmail();
+        if (userEmail == null) {
+            log.warn("Invalid JWT token - no email claim for path: {}", path);
+            sendError(response, HttpStatus.UNAUTHORIZED, HttpStatus.UNAUTHORIZED.getReasonPhrase(), "Invalid token - no email claim");
+            return false;
+        }
+
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return true;
+        }
+
+        // cached per user id, no user/status/role query per request
+        AuthSnapshot snapshot = authSnapshotCache.get(claims.getUserId());
+        if (snapshot == null) {
+            log.warn("User not found for email: {} path: {}", userEmail, path);
+            sendError(response, HttpStatus.UNAUTHORIZED, HttpStatus.UNAUTHORIZED.getReasonPhrase(), "User not found");
+            return false;
+        }
+
+        // Verify token belongs to this user
+        if (!snapshot.getEmail().equals(userEmail)) {
+            log.warn("Token user ID mismatch for user: {} path: {}", userEmail, path);
+            sendError(response, HttpStatus.UNAUTHORIZED, HttpStatus.UNAUTHORIZED.getReasonPhrase(), "Token user ID mismatch");
+            return false;
+        }
+
+        // Validate token type matches user status
+        if (snapshot.isActive() && !claims.isFullAccess()) {
+            log.warn("Active user has limited access token: {} path: {}", userEmail, path);
+        } else if (!snapshot.isActive() && claims.isFullAccess()) {
+            log.warn("Inactive user has full access token: {} path: {}", userEmail, path);
+        }
+
+        CustomUserDetails userDetails = new CustomUserDetails(snapshot, claims.getPermissionMask());
+        setAuthentication(request, userDetails);
+
+        log.debug("Authenticated user: {} with roles: {} path: {}",
+                userEmail, userDetails.getAuthorities(), path);
+        return true;
+    }
+
+    // ========== UTILITY METHODS ==========
+
+    private void setAuthentication(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    private void sendError(HttpServletResponse response, HttpStatus status, String error, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(String.format(
+                "{\"error\": \"%s\", \"message\": \"%s\", \"status\": %d}", error, message, status.value()));
+    }
+}
@@ -0,0 +1,18 @@
+package io.mawhebty.security;
+
+/**
+ * How RequestAuthenticationFilter treats a path, resolved once per request and kept
+ * as a request attribute for anything downstream that needs it.
+ */
+public enum RouteClass {
+    // no token processing at all
+    PUBLIC,
+    // Keycloak token with the DASHBOARD_ADMIN realm role
+    INTERNAL_SERVICE,
+    // platform token; a limited token of an account pending moderation may GET these
+    PLATFORM_READ,
+    // platform token; any other path
+    PLATFORM;
+
+    public static final String REQUEST_ATTRIBUTE = RouteClass.class.getName();
+}
@@ -32,9 +32,7 @@ public class SecurityConfig {
     @Value("${cors.allowed-origins}")
     private String[] allowedOrigins;
 
-    private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final JwtLimitedAccessFilter jwtLimitedAccessFilter;
-    private final KeycloakAuthFilter keycloakAuthFilter;
+    private final RequestAuthenticationFilter requestAuthenticationFilter;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
     private final OAuth2FailureHandler oAuth2FailureHandler;
     private final AuthenticationManagerEntryPoint authenticationManagerEntryPoint;
@@ -79,10 +77,8 @@ public class SecurityConfig {
                 )
 
 
-                // Filter order: Keycloak → JwtAuthentication → JwtLimitedAccess
-                .addFilterBefore(keycloakAuthFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(jwtLimitedAccessFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // One authentication stage: Keycloak for internal services, platform tokens elsewhere
+                .addFilterBefore(requestAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 
                 // OAuth2 configuration (if needed)
                 .oauth2Login(oauth2 -> oauth2
@@ -0,0 +1,114 @@
+package io.mawhebty.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import io.mawhebty.enums.PermissionEnum;
+import io.mawhebty.enums.UserStatusEnum;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims of a platform JWT whose signature and expiry were verified. Parsed once per request
+ * and kept as a request attribute, so the filters read plain fields instead of re-parsing the token.
+ */
+@Getter
+public final class VerifiedClaims {
+
+    public static final String REQUEST_ATTRIBUTE = VerifiedClaims.class.getName();
+
+    public static final String PERMISSIONS_CLAIM = "perm";
+    // list of permission ids, as tokens issued before the mask claim carry it
+    private static final String LEGACY_PERMISSIONS_CLAIM = "permissions";
+    // refresh-token family the token was issued in, see RefreshTokenStore
+    public static final String SESSION_CLAIM = "sid";
+
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final String tokenType;
+    private final String userStatus;
+    private final long permissionMask;
+    private final Date expiration;
+    // jti, only refresh tokens carry one
+    private final UUID tokenId;
+    private final UUID sessionId;
+
+    public VerifiedClaims(Claims claims) {
+        this.userId = claims.get("userId", Long.class);
+        this.email = claims.get("email", String.class);
+        this.role = claims.get("role", String.class);
+        this.tokenType = claims.get("tokenType", String.class);
+        this.userStatus = claims.get("userStatus", String.class);
+        this.permissionMask = permissionMask(claims);
+        this.expiration = claims.getExpiration();
+        this.tokenId = uuid(claims.getId(), Claims.ID);
+        this.sessionId = uuid(claims.get(SESSION_CLAIM, String.class), SESSION_CLAIM);
+    }
+
+    public boolean isLimitedAccess() {
+        return "LIMITED_ACCESS".equals(tokenType);
+    }
+
+    public boolean isFullAccess() {
+        return "FULL_ACCESS".equals(tokenType);
+    }
+
+    public boolean isRefresh() {
+        return "REFRESH".equals(tokenType);
+    }
+
+    // a single AND against the mask
+    public boolean hasPermission(PermissionEnum permission) {
+        return PermissionMask.has(permissionMask, permission);
+    }
+
+    public EnumSet<PermissionEnum> getPermissions() {
+        return PermissionMask.toSet(permissionMask);
+    }
+
+    // same fallback JWTService.getUserStatusFromToken always had
+    public UserStatusEnum getUserStatusEnum() {
+        if (userStatus == null) return UserStatusEnum.DRAFT;
+        try {
+            return UserStatusEnum.valueOf(userStatus);
+        } catch (IllegalArgumentException e) {
+            return UserStatusEnum.DRAFT;
+        }
+    }
+
+    // tokens issued before refresh-token families carry neither claim
+    private static UUID uuid(String value, String claim) {
+        if (value == null) return null;
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Invalid " + claim + " claim", e);
+        }
+    }
+
+    public static long permissionMask(Claims claims) {
+        Object encoded = claims.get(PERMISSIONS_CLAIM);
+        if (encoded != null) {
+            try {
+                return PermissionMask.decode(encoded.toString());
+            } catch (IllegalArgumentException e) {
+                throw new MalformedJwtException("Invalid permissions claim", e);
+            }
+        }
+
+        long mask = 0L;
+        if (claims.get(LEGACY_PERMISSIONS_CLAIM) instanceof List<?> ids) {
+            for (Object id : ids) {
+                PermissionEnum permission = id instanceof Number number ? PermissionEnum.fromId(number.intValue()) : null;
+                if (permission != null) {
+                    mask |= permission.bit();
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -12,21 +12,31 @@ import io.mawhebty.models.Article;
 import io.mawhebty.models.ArticleSection;
 import io.mawhebty.models.TalentCategory;
 import io.mawhebty.models.TalentSubCategory;
+import io.mawhebty.projections.ArticleCard;
+import io.mawhebty.projections.ArticleVersionProjection;
 import io.mawhebty.repository.ArticleRepository;
+import io.mawhebty.repository.RowEstimateRepository;
 import io.mawhebty.repository.TalentCategoryRepository;
 import io.mawhebty.repository.TalentSubCategoryRepository;
 import io.mawhebty.repository.specification.ArticleSpecification;
+import io.mawhebty.support.CardSelection;
+import io.mawhebty.support.ContentValidator;
+import io.mawhebty.support.KeysetCursor;
+import io.mawhebty.support.KeysetPage;
+import io.mawhebty.support.SliceQueryExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
 
 @Service
@@ -37,6 +47,8 @@ public class ArticleService {
     private final ArticleRepository articleRepository;
     private final TalentCategoryRepository categoryRepository;
     private final TalentSubCategoryRepository subCategoryRepository;
+    private final SliceQueryExecutor sliceQueryExecutor;
+    private final RowEstimateRepository rowEstimateRepository;
 
     public ArticleListResponse getArticles(
             Integer categoryId,
@@ -44,45 +56,77 @@ public class ArticleService {
             String search,
             Integer page,
             Integer perPage,
-            String sortBy) {
+            String sortBy,
+            String cursor,
+            boolean withTotal,
+            boolean estimateTotal) {
 
-        Sort sort = Sort.by("publishedAt").descending();
-        if ("date_asc".equals(sortBy)) {
-            sort = Sort.by("publishedAt").ascending();
-        }
+        boolean ascending = "date_asc".equals(sortBy);
+        Sort sort = ascending
+                ? Sort.by("publishedAt").ascending().and(Sort.by("id").ascending())
+                : Sort.by("publishedAt").descending().and(Sort.by("id").descending());
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        Pageable pageable = PageRequest.of(page - 1, perPage, sort);
+        // a search without an explicit date order is ranked by relevance (page mode only)
+        boolean ranked = after == null && (sortBy == null || "relevance".equals(sortBy))
+                && search != null && !search.isBlank();
 
+        // rows without publishedAt never match the keyset comparison
         Specification<Article> spec = Specification.allOf(
                 ArticleSpecification.hasCategory(categoryId),
                 ArticleSpecification.hasSubCategory(subCategoryId),
-                ArticleSpecification.search(search));
+                ArticleSpecification.search(search),
+                ArticleSpecification.publishedAfter(after, ascending),
+                ranked ? ArticleSpecification.rankedBy(search) : null);
+
+        ArticleListResponse.ArticleListResponseBuilder response = ArticleListResponse.builder()
+                .perPage(perPage);
+        CardSelection<Article> columns = ArticleCard.columns(LocaleContextHolder.getLocale());
+        Slice<ArticleCard> pageResult;
+
+        if (after != null) {
+            // Cursor mode: constant cost per page, no total
+            pageResult = sliceQueryExecutor.findSlice(Article.class, spec, PageRequest.of(0, perPage, sort), ArticleCard.class, columns);
+        } else {
+            Pageable pageable = PageRequest.of(page - 1, perPage, ranked ? Sort.unsorted() : sort);
+            if (withTotal) {
+                Page<ArticleCard> countedPage = sliceQueryExecutor.findPage(Article.class, spec, pageable, ArticleCard.class, columns);
+                response.totalItems(countedPage.getTotalElements())
+                        .totalPages(countedPage.getTotalPages());
+                pageResult = countedPage;
+            } else {
+                // Slice mode: no COUNT query, optionally a planner estimate for display
+                pageResult = sliceQueryExecutor.findSlice(Article.class, spec, pageable, ArticleCard.class, columns);
+                if (estimateTotal) {
+                    response.totalItems(rowEstimateRepository.estimateArticles(categoryId, subCategoryId, search))
+                            .totalIsEstimate(true);
+                }
+            }
+            response.currentPage(page);
+        }
 
-        Page<Article> pageResult = articleRepository.findAll(spec, pageable);
+        List<ArticleCard> articles = pageResult.getContent();
+        boolean hasNext = pageResult.hasNext();
+        KeysetCursor next = ranked ? null : new KeysetPage<>(articles, hasNext).nextCursor(ArticleCard::getPublishedAt, ArticleCard::getId);
 
-        return ArticleListResponse.builder()
-                .totalItems(pageResult.getTotalElements())
-                .currentPage(page)
-                .perPage(perPage)
-                .totalPages(pageResult.getTotalPages())
+        return response
+                .hasNext(hasNext)
+                .nextCursor(next != null ? next.encode() : null)
                 .articles(
-                        pageResult.getContent()
-                                .stream()
+                        articles.stream()
                                 .map(this::mapToListItem)
                                 .toList())
                 .build();
     }
 
-    private ArticleSummaryResponse mapToListItem(Article article) {
-        Locale locale = LocaleContextHolder.getLocale();
+    private ArticleSummaryResponse mapToListItem(ArticleCard article) {
         return ArticleSummaryResponse.builder()
                 .id(article.getId())
-                .title("en".equals(locale.getLanguage()) ? article.getTitleEn() : article.getTitleAr())
+                .title(article.getTitle())
                 .imageUrl(article.getCoverImageUrl())
-                .categoryName("en".equals(locale.getLanguage()) ? article.getCategory().getNameEn()
-                        : article.getCategory().getNameAr())
-                .subCategoryName("en".equals(locale.getLanguage()) ? article.getSubCategory().getNameEn()
-                        : article.getSubCategory().getNameAr())
+                .categoryName(article.getCategoryName())
+                .subCategoryName(article.getSubCategoryName())
                 .publishedAt(article.getPublishedAt())
                 .build();
     }
@@ -307,4 +351,12 @@ public class ArticleService {
         return mapToResponse(article);
     }
 
+    // validator for the article detail, read without loading the article or its sections
+    public ContentValidator getArticleValidator(Long articleId) {
+        ArticleVersionProjection version = articleRepository.findVersionByIdAndStatus(articleId, ArticleStatusEnum.PUBLISHED)
+                .orElseThrow(() -> new IllegalArgumentException("Article not found, or not published"));
+
+        return ContentValidator.of(version.getLastModified(), articleId, version.getSectionCount());
+    }
+
 }
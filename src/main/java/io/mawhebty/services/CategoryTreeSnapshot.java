@@ -0,0 +1,159 @@
+package io.mawhebty.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mawhebty.dtos.responses.TalentCategoryResponse;
+import io.mawhebty.dtos.responses.TalentSubCategoryResponse;
+import io.mawhebty.models.TalentCategory;
+import io.mawhebty.models.TalentSubCategory;
+import io.mawhebty.repository.TalentCategoryRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * The public category/sub-category tree, serialized once and served as-is with a strong ETag.
+ * Built once the Flyway runner has finished and rebuilt after a category or sub-category is created.
+ * Other instances only learn about such a change from the periodic rebuild, which swaps the
+ * snapshot when its ETag differs.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryTreeSnapshot {
+
+    private final TalentCategoryRepository talentCategoryRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${categories.tree.rebuild-interval-seconds:60}")
+    private long rebuildIntervalSeconds;
+
+    private volatile Tree tree;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @PostConstruct
+    void init() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("category-tree-");
+        scheduler.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    // first build right away, then on the interval
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, Duration.ofSeconds(rebuildIntervalSeconds));
+    }
+
+    public Tree current() {
+        Tree current = tree;
+        if (current == null) {
+            synchronized (this) {
+                if (tree == null) {
+                    rebuild();
+                }
+                current = tree;
+            }
+        }
+        return current;
+    }
+
+    /** Rebuild once the surrounding transaction (if any) has committed */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        List<TalentCategoryResponse> categories = talentCategoryRepository.findAllWithSubCategories().stream()
+                .map(this::mapToCategoryResponse)
+                .toList();
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(categories);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the category tree", e);
+        }
+        String etag = "\"" + sha256(body) + "\"";
+        if (tree != null && tree.getEtag().equals(etag)) {
+            return;
+        }
+        tree = new Tree(body, etag);
+        log.info("Category tree snapshot built: {} categories, {} bytes", categories.size(), body.length);
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Rebuilding the category tree snapshot failed, retrying on the next run", e);
+        }
+    }
+
+    private TalentCategoryResponse mapToCategoryResponse(TalentCategory tc) {
+        return TalentCategoryResponse.builder()
+                .id(tc.getPartnerId())
+                .nameAr(tc.getNameAr())
+                .nameEn(tc.getNameEn())
+                .participationTypeId(tc.getParticipationType().getId())
+                .imageUrl(tc.getImageUrl())
+                .subCategories(
+                        tc.getTalentSubCategories()
+                                .stream()
+                                .sorted(Comparator.comparing(TalentSubCategory::getId))
+                                .map(tsc -> TalentSubCategoryResponse.builder()
+                                        .id(tsc.getPartnerId())
+                                        .nameEn(tsc.getNameEn())
+                                        .nameAr(tsc.getNameAr())
+                                        .build())
+                                .toList()
+                )
+                .build();
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Tree {
+        private final byte[] body;
+        private final String etag;
+    }
+}
@@ -34,18 +34,19 @@ package io.mawhebty.services;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.UnsupportedEncodingException;
-
+import io.mawhebty.services.mail.EmailOutbox;
+import io.mawhebty.services.mail.EmailTemplate;
+import io.mawhebty.services.mail.EmailTemplates;
+import io.mawhebty.services.mail.EmailTemplates.RenderedEmail;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 
+/**
+ * Composes the platform's emails from the compiled templates and queues them in the outbox,
+ * see EmailOutboxDispatcher for delivery. Queuing joins the caller's transaction.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -54,13 +55,8 @@ public class EmailService {
     @Value("${spring.mail.username}")
     private String emailSender;
 
-    @Value("${app.frontend.url:http://localhost:3000}")
-    private String frontendUrl;
-
-    @Value("${app.name:mawhebty}")
-    private String appName;
-
-    private final JavaMailSender mailSender;
+    private final EmailOutbox emailOutbox;
+    private final EmailTemplates emailTemplates;
 
     @PostConstruct
     public void init() {
@@ -74,198 +70,54 @@ public class EmailService {
     /**
      * Send OTP verification email (HTML version)
      */
-    @Async
     public void sendVerificationEmail(String email, String code) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-
-            helper.setFrom(emailSender, appName);
-            helper.setTo(email);
-            helper.setSubject("Verify Your Mawhebty Account");
-
-            String htmlContent = buildVerificationEmailHtml(code);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(mimeMessage);
-            log.info("Verification email sent to: {}", email);
-
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            log.error("Failed to send verification email to {}: {}", email, e.getMessage());
-            // Fallback to simple email
-            sendSimpleVerificationEmail(email, code);
-        }
+        enqueue(email, EmailTemplate.VERIFICATION, code);
+        log.info("Verification email queued for: {}", email);
     }
 
     /**
-     * Fallback simple email
+     * Simple (plain text) verification email
      */
-    @Async
     public void sendSimpleVerificationEmail(String email, String code) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(emailSender);
-            message.setTo(email);
-            message.setSubject("Mawhebty - Verify Your Account");
-            message.setText(
+        emailOutbox.enqueue(email, "Mawhebty - Verify Your Account",
                 "Welcome to Mawhebty Platform!\n\n" +
                 "Your verification code is: " + code + "\n\n" +
                 "This code will expire in 10 minutes.\n\n" +
                 "If you didn't request this, please ignore this email.\n\n" +
                 "Best regards,\n" +
-                "Mawhebty Platform Team"
-            );
-
-            mailSender.send(message);
-            log.info("Simple verification email sent to: {}", email);
-
-        } catch (Exception e) {
-            log.error("Failed to send simple verification email: {}", e.getMessage());
-        }
+                "Mawhebty Platform Team",
+                false);
+        log.info("Simple verification email queued for: {}", email);
     }
 
     /**
      * Send welcome email after successful verification
      */
-    @Async
     public void sendWelcomeEmail(String email, String fullName) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-
-            helper.setFrom(emailSender, appName);
-            helper.setTo(email);
-            helper.setSubject("Welcome to Mawhebty!");
-
-            String htmlContent = buildWelcomeEmailHtml(fullName);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(mimeMessage);
-            log.info("✅ Welcome email sent to: {}", email);
-
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            log.error("Failed to send welcome email: {}", e.getMessage());
-        }
+        enqueue(email, EmailTemplate.WELCOME, fullName);
+        log.info("Welcome email queued for: {}", email);
     }
 
     /**
      * Send account approval email
      */
-    @Async
     public void sendAccountApprovedEmail(String email, String fullName) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(emailSender);
-            message.setTo(email);
-            message.setSubject("Your Mawhebty Account is Approved!");
-            message.setText(
-                "Hello " + fullName + ",\n\n" +
-                "Great news! Your Mawhebty account has been approved.\n\n" +
-                "You can now login and start exploring talents and opportunities.\n\n" +
-                "Get started: " + frontendUrl + "/login\n\n" +
-                "Best regards,\n" +
-                "Mawhebty Platform Team"
-            );
-
-            mailSender.send(message);
-            log.info("Account approved email sent to: {}", email);
-
-        } catch (Exception e) {
-            log.error("Failed to send account approved email: {}", e.getMessage());
-        }
+        enqueue(email, EmailTemplate.ACCOUNT_APPROVED, fullName);
+        log.info("Account approved email queued for: {}", email);
     }
 
     /**
-     * Build HTML content for verification email
+     * Send account rejection email
      */
-    private String buildVerificationEmailHtml(String code) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; background-color: #f4f4f4; margin: 0; padding: 20px; }
-                    .container { max-width: 600px; margin: 0 auto; background: white; padding: 30px; border-radius: 10px; }
-                    .header { text-align: center; color: #333; }
-                    .code { font-size: 32px; font-weight: bold; color: #2563eb; text-align: center; margin: 30px 0; }
-                    .footer { margin-top: 30px; font-size: 12px; color: #666; text-align: center; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>Mawhebty</h1>
-                        <h3>Verify Your Account</h3>
-                    </div>
-            
-                    <p>Hello,</p>
-            
-                    <p>Thank you for joining Mawhebty Platform! Use the verification code below to complete your registration:</p>
-            
-                    <div class="code">%s</div>
-            
-                    <p>This code will expire in <strong>10 minutes</strong>.</p>
-            
-                    <p>If you didn't request this verification, please ignore this email.</p>
-            
-                    <div class="footer">
-                        <p>Best regards,<br>Mawhebty Platform Team</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(code);
+    public void sendAccountRejectedEmail(String email, String reason) {
+        enqueue(email, EmailTemplate.ACCOUNT_REJECTED, reason);
+        log.info("Account rejected email queued for: {}", email);
     }
 
-    /**
-     * Build HTML content for welcome email
-     */
-    private String buildWelcomeEmailHtml(String fullName) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; background-color: #f4f4f4; margin: 0; padding: 20px; }
-                    .container { max-width: 600px; margin: 0 auto; background: white; padding: 30px; border-radius: 10px; }
-                    .header { text-align: center; color: #333; }
-                    .button { display: inline-block; padding: 12px 24px; background: #2563eb; color: white; 
-                              text-decoration: none; border-radius: 5px; margin: 20px 0; }
-                    .footer { margin-top: 30px; font-size: 12px; color: #666; text-align: center; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🎭 Mawhebty</h1>
-                        <h2>Welcome to Our Community!</h2>
-                    </div>
-                    
-                    <p>Hello <strong>%s</strong>,</p>
-                    
-                    <p>Welcome to Mawhebty Platform! Your account has been successfully verified and is now active.</p>
-                    
-                    <p>🚀 <strong>What you can do now:</strong></p>
-                    <ul>
-                        <li>Browse talented individuals</li>
-                        <li>Connect with researchers and investors</li>
-                        <li>Showcase your skills and projects</li>
-                        <li>Explore collaboration opportunities</li>
-                    </ul>
-                    
-                    <p style="text-align: center;">
-                        <a href="%s/login" class="button">Get Started</a>
-                    </p>
-                    
-                    <p>If you have any questions, feel free to reply to this email.</p>
-                    
-                    <div class="footer">
-                        <p>Best regards,<br>Mawhebty Platform Team</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(fullName, frontendUrl);
+    // rendered in the language of the current request
+    private void enqueue(String email, EmailTemplate template, String... values) {
+        RenderedEmail rendered = emailTemplates.render(template, LocaleContextHolder.getLocale(), values);
+        emailOutbox.enqueue(email, rendered.getSubject(), rendered.getBody(), true);
     }
 
     /**
@@ -1,6 +1,7 @@
 package io.mawhebty.services;
 
 import io.mawhebty.api.v1.resources.mawhebtyPlatform.EventSummaryResource;
+import io.mawhebty.dtos.RelatedEventSummary;
 import io.mawhebty.dtos.requests.CreateEventRequest;
 import io.mawhebty.dtos.requests.UpdateEventRequest;
 import io.mawhebty.dtos.responses.*;
@@ -9,12 +10,20 @@ import io.mawhebty.enums.EventType;
 import io.mawhebty.exceptions.BadDataException;
 import io.mawhebty.exceptions.ResourceNotFoundException;
 import io.mawhebty.models.*;
+import io.mawhebty.projections.EventCard;
+import io.mawhebty.projections.EventVersionProjection;
 import io.mawhebty.repository.EventRepository;
 import io.mawhebty.repository.EventAttendeeRepository;
+import io.mawhebty.repository.RowEstimateRepository;
 import io.mawhebty.repository.TalentCategoryRepository;
 import io.mawhebty.repository.TalentSubCategoryRepository;
 import io.mawhebty.repository.specification.EventSpecification;
 import io.mawhebty.services.auth.CurrentUserService;
+import io.mawhebty.support.CardSelection;
+import io.mawhebty.support.ContentValidator;
+import io.mawhebty.support.KeysetCursor;
+import io.mawhebty.support.KeysetPage;
+import io.mawhebty.support.SliceQueryExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,6 +31,7 @@ import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
@@ -44,6 +54,9 @@ public class EventService {
     private final CurrentUserService currentUserService;
     private final TalentCategoryRepository talentCategoryRepository;
     private final TalentSubCategoryRepository talentSubCategoryRepository;
+    private final SliceQueryExecutor sliceQueryExecutor;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final RelatedContentCache relatedContentCache;
 
 
     // Get events with filtering and pagination
@@ -56,37 +69,71 @@ public class EventService {
             LocalDateTime endDate,
             Integer page,
             Integer perPage,
-            String sortBy
+            String sortBy,
+            String cursor,
+            boolean withTotal,
+            boolean estimateTotal
     ) {
 
-        Sort sort = Sort.by("eventDate").descending();
-        if (sortBy != null) {
-            sort = sortBy.equals("date_asc")
-                    ? Sort.by("eventDate").ascending()
-                    : Sort.by("eventDate").descending();
-        }
+        boolean ascending = "date_asc".equals(sortBy);
+        Sort sort = ascending
+                ? Sort.by("eventDate").ascending().and(Sort.by("id").ascending())
+                : Sort.by("eventDate").descending().and(Sort.by("id").descending());
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        Pageable pageable = PageRequest.of(page - 1, perPage, sort);
+        // a search without an explicit date order is ranked by relevance (page mode only)
+        boolean ranked = after == null && (sortBy == null || "relevance".equals(sortBy))
+                && search != null && !search.isBlank();
+
+        EventStatus eventStatus = status != null ? EventStatus.valueOf(status.toUpperCase()) : null;
 
         Specification<Event> spec = Specification.allOf(
-                EventSpecification.hasStatus(
-                        status != null ? EventStatus.valueOf(status.toUpperCase()) : null),
+                EventSpecification.hasStatus(eventStatus),
                 EventSpecification.hasType(type),
                 EventSpecification.isFree(isFree),
                 EventSpecification.search(search),
-                EventSpecification.betweenDates(startDate, endDate)
+                EventSpecification.betweenDates(startDate, endDate),
+                EventSpecification.eventDateAfter(after, ascending),
+                ranked ? EventSpecification.rankedBy(search) : null
         );
 
-        Page<Event> eventPage = eventRepository.findAll(spec, pageable);
+        EventListResponse.EventListResponseBuilder response = EventListResponse.builder()
+                .perPage(perPage);
+        CardSelection<Event> columns = EventCard.columns(LocaleContextHolder.getLocale());
+        Slice<EventCard> eventPage;
+
+        if (after != null) {
+            // Cursor mode: constant cost per page, no total
+            eventPage = sliceQueryExecutor.findSlice(Event.class, spec, PageRequest.of(0, perPage, sort), EventCard.class, columns);
+        } else {
+            Pageable pageable = PageRequest.of(page - 1, perPage, ranked ? Sort.unsorted() : sort);
+            if (withTotal) {
+                Page<EventCard> countedPage = sliceQueryExecutor.findPage(Event.class, spec, pageable, EventCard.class, columns);
+                response.total(countedPage.getTotalElements())
+                        .totalPages(countedPage.getTotalPages());
+                eventPage = countedPage;
+            } else {
+                // Slice mode: no COUNT query, optionally a planner estimate for display
+                eventPage = sliceQueryExecutor.findSlice(Event.class, spec, pageable, EventCard.class, columns);
+                if (estimateTotal) {
+                    response.total(rowEstimateRepository.estimateEvents(
+                                    eventStatus, type, isFree, search, startDate, endDate))
+                            .totalIsEstimate(true);
+                }
+            }
+            response.page(page);
+        }
+
+        List<EventCard> events = eventPage.getContent();
+        boolean hasNext = eventPage.hasNext();
+        KeysetCursor next = ranked ? null : new KeysetPage<>(events, hasNext).nextCursor(EventCard::getEventDate, EventCard::getId);
 
-        return EventListResponse.builder()
-                .total(eventPage.getTotalElements())
-                .page(page)
-                .perPage(perPage)
-                .totalPages(eventPage.getTotalPages())
+        return response
+                .hasNext(hasNext)
+                .nextCursor(next != null ? next.encode() : null)
                 .events(
-                        eventPage.getContent()
-                                .stream()
+                        events.stream()
                                 .map(this::mapToEventListItemResponse)
                                 .toList()
                 )
@@ -100,9 +147,9 @@ public class EventService {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
 
-        // Get 5 related events based on category and subCategory, excluding the main event
-        List<Event> relatedEvents = eventRepository.findTop5ByCategoryAndIdNotOrderByEventDateAsc(
-                event.getCategory(),event.getId());
+        // Up to 5 related events of the same category, served from the category's ring
+        List<RelatedEventSummary> relatedEvents = relatedContentCache.relatedEvents(
+                event.getCategory().getId(), event.getId());
 
         // Map main event
         EventWithRelatedResponse response = mapToEventWithRelatedResponse(event);
@@ -117,15 +164,24 @@ public class EventService {
         return response;
     }
 
+    // validator for the event detail; the related events come from the category ring, so the ring is part of the version
+    public ContentValidator getEventValidator(Long id) {
+        EventVersionProjection version = eventRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+
+        List<RelatedEventSummary> relatedEvents = relatedContentCache.relatedEvents(version.getCategoryId(), id);
+        return ContentValidator.ofParts(id, version.getUpdatedAt(), relatedEvents);
+    }
+
     // Mapper for EventSummary
-    private EventSummaryResource mapToEventSummary(Event event) {
+    private EventSummaryResource mapToEventSummary(RelatedEventSummary event) {
         Locale locale = LocaleContextHolder.getLocale();
         EventSummaryResource summary = new EventSummaryResource();
         summary.setId(BigDecimal.valueOf(event.getId()));
         summary.setTitle("en".equals(locale.getLanguage()) ? event.getTitleEn() : event.getTitleAr());
         summary.setDescription("en".equals(locale.getLanguage()) ? event.getDescriptionEn() : event.getDescriptionAr());
         summary.setLocation(event.getLocation());
-        summary.setImageUrl(event.getCoverImageUrl());
+        summary.setImageUrl(event.getImageUrl());
         summary.setDate(event.getEventDate());
         return summary;
     }
@@ -179,6 +235,7 @@ public class EventService {
 
         Event savedEvent = eventRepository.save(event);
         log.info("Event created with id: {}", savedEvent.getId());
+        relatedContentCache.eventChanged(category.getId());
 
         return mapToEventResponse(savedEvent);
     }
@@ -252,6 +309,7 @@ public class EventService {
 
         Event updatedEvent = eventRepository.save(event);
         log.info("Event updated with id: {}", id);
+        relatedContentCache.eventChanged(updatedEvent.getCategory().getId());
 
         return mapToEventResponse(updatedEvent);
     }
@@ -259,12 +317,12 @@ public class EventService {
     // Delete event
     @Transactional
     public void deleteEvent(Long id) {
-        if (!eventRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Event not found with id: " + id);
-        }
+        Event event = eventRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
 
-        eventRepository.deleteById(id);
+        eventRepository.delete(event);
         log.info("Event deleted with id: {}", id);
+        relatedContentCache.eventChanged(event.getCategory().getId());
     }
 
     // Register for event
@@ -347,12 +405,11 @@ public class EventService {
                 .build();
     }
 
-    private EventListItemResponse mapToEventListItemResponse(Event event) {
-        Locale locale = LocaleContextHolder.getLocale();
+    private EventListItemResponse mapToEventListItemResponse(EventCard event) {
         return EventListItemResponse.builder()
                 .id(event.getId())
-                .title("en".equals(locale.getLanguage()) ? event.getTitleEn() : event.getTitleAr())
-                .description("en".equals(locale.getLanguage()) ? event.getDescriptionEn() : event.getDescriptionAr())
+                .title(event.getTitle())
+                .description(event.getDescription())
                 .date(event.getEventDate())
                 .location(event.getLocation())
                 .coverImageUrl(event.getCoverImageUrl())
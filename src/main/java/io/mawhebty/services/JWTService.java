@@ -4,20 +4,25 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Function;
 import javax.crypto.SecretKey;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.*;
 import io.mawhebty.dtos.responses.TokenResponse;
 import io.mawhebty.enums.PermissionEnum;
 import io.mawhebty.exceptions.BadDataException;
 import io.mawhebty.models.UserStatus;
+import io.mawhebty.security.PermissionMask;
+import io.mawhebty.security.VerifiedClaims;
+import io.mawhebty.services.auth.RefreshTokenStore;
+import io.mawhebty.services.auth.RefreshTokenStore.IssuedRefreshToken;
+import io.mawhebty.services.auth.RolePermissionMatrix;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Service;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import io.mawhebty.enums.UserRoleEnum;
 import io.mawhebty.enums.UserStatusEnum;
 import io.mawhebty.exceptions.UserNotFoundException;
 import io.mawhebty.models.User;
@@ -31,11 +36,19 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class JWTService {
 
+    private final RolePermissionMatrix rolePermissionMatrix;
+    private final RefreshTokenStore refreshTokenStore;
+
     @Value("${security.jwt.secret}")
     private String secret;
 
     private SecretKey signingKey;
 
+    // immutable and thread-safe, built once with the signing key instead of per call
+    private JwtParser parser;
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Value("${jwt.expiration}")
     private Long accessTokenExpiration;
 
@@ -57,6 +70,9 @@ public class JWTService {
 
             // إنشاء الـ signing key
             signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            parser = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build();
             log.info("JWT Service initialized successfully");
 
         } catch (Exception e) {
@@ -83,26 +99,61 @@ public class JWTService {
     }
 
     public String generateToken(Long userId, String email, UserRole role, String tokenType, UserStatus status) {
+        return generateToken(userId, email, role, tokenType, status, null);
+    }
+
+    // sessionId is the refresh-token family issued alongside, so logging out also cuts off this token
+    public String generateToken(Long userId, String email, UserRole role, String tokenType, UserStatus status,
+                                UUID sessionId) {
         Map<String, Object> claims = new HashMap<>();
+        if (sessionId != null) {
+            claims.put(VerifiedClaims.SESSION_CLAIM, sessionId.toString());
+        }
         claims.put("userId", userId);
         claims.put("email", email);
         claims.put("role", role.getName());
         claims.put("tokenType", tokenType);
         claims.put("userStatus", status.getName());
-        claims.put("permissions", "LIMITED_ACCESS".equals(tokenType)? getLimitedPermissions(role): getFullPermissions(role));
+        // base64url permission bitmask, see PermissionMask
+        claims.put(VerifiedClaims.PERMISSIONS_CLAIM, PermissionMask.encode(
+                "LIMITED_ACCESS".equals(tokenType) ? rolePermissionMatrix.limitedMask(role.getName()) : rolePermissionMatrix.fullMask(role.getName())));
 
         return buildToken(claims, userId.toString(), email, accessTokenExpiration);
     }
 
+    // first refresh token of a new family
     public String generateRefreshToken(Long userId, String email) {
+        return generateRefreshToken(userId, email, refreshTokenStore.startFamily(userId));
+    }
+
+    public String generateRefreshToken(Long userId, String email, IssuedRefreshToken issued) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("tokenType", "REFRESH");
         claims.put("userId", userId);
         claims.put("email", email);
+        claims.put(Claims.ID, issued.getJti().toString());
+        claims.put(VerifiedClaims.SESSION_CLAIM, issued.getFamilyId().toString());
 
         return buildToken(claims, userId.toString(), email, refreshTokenExpiration);
     }
 
+    /**
+     * Access token plus the first refresh token of a new family; the access token carries the
+     * family id so revoking the family (logout, refresh-token reuse) rejects it right away.
+     */
+    public TokenResponse generateTokenPair(User user, String tokenType) {
+        IssuedRefreshToken issued = refreshTokenStore.startFamily(user.getId());
+        String token = generateToken(user.getId(), user.getEmail(), user.getRole(), tokenType, user.getStatus(),
+                issued.getFamilyId());
+
+        return TokenResponse.builder()
+                .accessToken(token)
+                .refreshToken(generateRefreshToken(user.getId(), user.getEmail(), issued))
+                .tokenType(tokenType)
+                .expiresIn(getRemainingTokenTime(token))
+                .build();
+    }
+
     public ResponseCookie buildCookieForRefreshToken(String refreshToken) {
         return ResponseCookie.from("refreshToken", refreshToken)
                 .httpOnly(true)// JS cannot read it (protects from XSS)
@@ -167,25 +218,49 @@ public class JWTService {
         return getClaimFromToken(token, claims -> claims.get("email", String.class));
     }
 
-    public List<String> getPermissionsFromToken(String token) {
+    public EnumSet<PermissionEnum> getPermissionsFromToken(String token) {
         try {
-            List<?> rawList = getClaimFromToken(token, claims -> claims.get("permissions", List.class));
-            if (rawList == null) {
-                return new ArrayList<>();
-            }
-            List<String> permissions = new ArrayList<>(rawList.size());
-            for (Object item : rawList) {
-                if (item != null) {
-                    permissions.add(item.toString());
-                }
-            }
-            return permissions;
+            return PermissionMask.toSet(getClaimFromToken(token, VerifiedClaims::permissionMask));
         } catch (Exception e) {
             log.warn("Failed to get permissions from token: {}", e.getMessage());
-            return new ArrayList<>();
+            return EnumSet.noneOf(PermissionEnum.class);
+        }
+    }
+
+    // ========== PER-REQUEST CLAIMS ==========
+
+    /**
+     * The verified claims of the request's bearer token, parsed on first use and kept as a request
+     * attribute for the rest of the filter chain. Returns null when there is no bearer token;
+     * a token that fails verification throws the same JwtException on every call.
+     */
+    public VerifiedClaims getVerifiedClaims(HttpServletRequest request) {
+        Object cached = request.getAttribute(VerifiedClaims.REQUEST_ATTRIBUTE);
+        if (cached instanceof VerifiedClaims claims) {
+            return claims;
+        }
+        if (cached instanceof JwtException failure) {
+            throw failure;
+        }
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        try {
+            VerifiedClaims claims = new VerifiedClaims(parser.parseClaimsJws(scanToken(header, BEARER_PREFIX.length())).getBody());
+            request.setAttribute(VerifiedClaims.REQUEST_ATTRIBUTE, claims);
+            return claims;
+        } catch (JwtException e) {
+            request.setAttribute(VerifiedClaims.REQUEST_ATTRIBUTE, e);
+            throw e;
         }
     }
 
+    // verified claims of a token that did not come in the Authorization header, e.g. a refresh token
+    public VerifiedClaims verifyToken(String token) {
+        return new VerifiedClaims(parser.parseClaimsJws(cleanToken(token)).getBody());
+    }
 
     // ========== CORE JWT METHODS ==========
 
@@ -205,37 +280,55 @@ public class JWTService {
             return null;
         }
 
-        if (token.startsWith("Bearer ")) {
-            token = token.substring(7);
-        }
-
-        token = token.trim()
-                .replaceAll("\\s+", "")    // spaces
-                .replaceAll("\\r|\\n", ""); // line breaks
+        return scanToken(token, token.startsWith(BEARER_PREFIX) ? BEARER_PREFIX.length() : 0);
+    }
 
-        String[] parts = token.split("\\.");
-        if (parts.length != 3) {
-            log.warn("Invalid JWT format after cleaning. Parts: {}", parts.length);
+    /**
+     * Single pass over the token starting at {@code from}: trims it, counts the dots and spots
+     * whitespace inside it. Only a token broken by whitespace or line breaks is copied to strip them;
+     * otherwise the result is a plain substring.
+     */
+    private String scanToken(String value, int from) {
+        int start = from;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) end--;
+
+        int dots = 0;
+        boolean innerWhitespace = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                dots++;
+            } else if (Character.isWhitespace(c)) {
+                innerWhitespace = true;
+            }
+        }
+        if (dots != 2) {
+            log.warn("Invalid JWT format after cleaning. Parts: {}", dots + 1);
             throw new MalformedJwtException("Invalid JWT format");
         }
+        if (!innerWhitespace) {
+            return value.substring(start, end);
+        }
 
-        return token;
+        StringBuilder token = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                token.append(c);
+            }
+        }
+        return token.toString();
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (SignatureException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
@@ -269,48 +362,16 @@ public class JWTService {
 
     // ========== PERMISSION METHODS ==========
     public List<Integer> getLimitedPermissions(UserRole role) {
-        //TODO: read is_limited permissions dependent on role from DB
-        return Arrays.asList(
-                PermissionEnum.READ_PROFILE.getId(),
-                PermissionEnum.READ_FEEDS.getId(),
-                PermissionEnum.READ_POSTS.getId(),
-                PermissionEnum.SEARCH.getId(),
-                PermissionEnum.VIEW_TALENTS.getId(),
-                PermissionEnum.VIEW_RESEARCHERS.getId()
-        );
+        return PermissionMask.toIds(rolePermissionMatrix.limitedMask(role.getName()));
     }
 
     public List<Integer> getFullPermissions(UserRole role) {
-        List<Integer> permissions = new ArrayList<>(getLimitedPermissions(role));
-
-        // Add write permissions based on role
-        permissions.add(PermissionEnum.LIKE.getId());
-        permissions.add(PermissionEnum.COMMENT.getId());
-        permissions.add(PermissionEnum.FOLLOW.getId());
-        permissions.add(PermissionEnum.SAVE_POSTS.getId());
-
-        //TODO: read is_limited permissions dependent on role from DB
-        if (UserRoleEnum.TALENT.equals(role.getName())) {
-            permissions.add(PermissionEnum.MANAGE_TALENT_PROFILE.getId());
-            permissions.add(PermissionEnum.RECEIVE_CONTRACTS.getId());
-            permissions.add(PermissionEnum.UPLOAD_CONTENT.getId());
-        } else if (UserRoleEnum.RESEARCHER.equals(role.getName())) {
-            permissions.add(PermissionEnum.MANAGE_RESEARCHER_PROFILE.getId());
-            permissions.add(PermissionEnum.SEND_CONTRACTS.getId());
-            permissions.add(PermissionEnum.BOOST_LISTINGS.getId());
-        }
-        //  else if ("ADMIN".equals(role.getName())) {
-        //     permissions.add("MANAGE_USERS");
-        //     permissions.add("MODERATE_CONTENT");
-        //     permissions.add("VIEW_ANALYTICS");
-        // }
-        return permissions;
+        return PermissionMask.toIds(rolePermissionMatrix.fullMask(role.getName()));
     }
 
-    public boolean hasPermission(String token, String permission) {
+    public boolean hasPermission(String token, PermissionEnum permission) {
         try {
-            List<String> permissions = getPermissionsFromToken(token);
-            return permissions.contains(permission);
+            return PermissionMask.has(getClaimFromToken(token, VerifiedClaims::permissionMask), permission);
         } catch (Exception e) {
             log.warn("Failed to check permission: {}", e.getMessage());
             return false;
@@ -342,129 +403,20 @@ public class JWTService {
 
     public TokenResponse determineSuitableTokenResponse(User user){
 
-        String token ="";
-        String refreshToken ="";
         switch (user.getStatus().getName()) {
             // if user has profile and status is active return full access and refresh token
             case "ACTIVE":
-                token = generateToken(user.getId(), user.getEmail(), user.getRole(), "FULL_ACCESS", user.getStatus());
-                refreshToken = generateRefreshToken(user.getId(), user.getEmail());
-
-                return TokenResponse.builder()
-                        .accessToken(token)
-                        .refreshToken(refreshToken)
-                        .tokenType("FULL_ACCESS")
-                        .expiresIn(getRemainingTokenTime(token))
-                        .build();
+                return generateTokenPair(user, "FULL_ACCESS");
 
             case "PENDING_MODERATION":
                 // if user has profile and status is PENDING_MODERATION return limited access token
-                token = generateToken(user.getId(), user.getEmail(), user.getRole(), "LIMITED_ACCESS", user.getStatus());
-                refreshToken = generateRefreshToken(user.getId(), user.getEmail());
-
-                return TokenResponse.builder()
-                        .accessToken(token)
-                        .refreshToken(refreshToken)
-                        .tokenType("LIMITED_ACCESS")
-                        .expiresIn(getRemainingTokenTime(token))
-                        .build();
+                return generateTokenPair(user, "LIMITED_ACCESS");
             default:
                 return null;
         }
     }
 
 
-    /**
-     * Check if token is from Keycloak
-     */
-    public boolean isKeycloakToken(String token) {
-        try {
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) return false;
-
-            String payload = new String(java.util.Base64.getUrlDecoder().decode(parts[1]));
-            Map<String, Object> claims = new ObjectMapper().readValue(payload, Map.class);
-
-            // Check if 'iss' claim contains our Keycloak domain
-            String issuer = (String) claims.get("iss");
-            return issuer != null &&
-                    (issuer.contains("auth.mawhebty.com") ||
-                            issuer.contains("keycloak") ||
-                            issuer.equals("https://auth.mawhebty.com/realms/mawhebty") ||
-                            issuer.equals("https://auth.mawhebty.com/realms/Mawhebty"));
-        } catch (Exception e) {
-            log.error("Token is not Keycloak: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Extract username from Keycloak token
-     */
-    public String getUsernameFromKeycloakToken(String token) {
-        try {
-            String[] parts = token.split("\\.");
-            String payload = new String(java.util.Base64.getUrlDecoder().decode(parts[1]));
-
-            Map<String, Object> claims = new ObjectMapper()
-                    .readValue(payload, Map.class);
-
-            return (String) claims.get("preferred_username");
-        } catch (Exception e) {
-            log.error("Failed to extract username from Keycloak token: {}", e.getMessage());
-            return null;
-        }
-    }
-
-    /**
-     * Debug method to see all token claims
-     */
-    public void debugToken(String token) {
-        try {
-            String[] parts = token.split("\\.");
-            String payload = new String(java.util.Base64.getUrlDecoder().decode(parts[1]));
-
-            Map<String, Object> claims = new ObjectMapper()
-                    .readValue(payload, Map.class);
-
-            log.info("=== TOKEN DEBUG INFO ===");
-            log.info("Issuer (iss): {}", claims.get("iss"));
-            log.info("Subject (sub): {}", claims.get("sub"));
-            log.info("Username (preferred_username): {}", claims.get("preferred_username"));
-            log.info("Realm Access: {}", claims.get("realm_access"));
-            log.info("Resource Access: {}", claims.get("resource_access"));
-            log.info("All claims: {}", claims);
-
-        } catch (Exception e) {
-            log.error("Token debug failed: {}", e.getMessage());
-        }
-    }
-
-    /**
-     * Extract roles from Keycloak token
-     */
-    public List<String> getRolesFromKeycloakToken(String token) {
-        try {
-            String[] parts = token.split("\\.");
-            String payload = new String(java.util.Base64.getUrlDecoder().decode(parts[1]));
-
-            Map<String, Object> claims = new ObjectMapper()
-                    .readValue(payload, Map.class);
-
-            // Extract from realm_access (global roles)
-            Map<String, Object> realmAccess = (Map<String, Object>) claims.get("realm_access");
-            if (realmAccess != null) {
-                List<String> roles = (List<String>) realmAccess.get("roles");
-                if (roles != null) return roles;
-            }
-
-            return List.of();
-        } catch (Exception e) {
-            log.error("Failed to extract roles from Keycloak token: {}", e.getMessage());
-            return List.of();
-        }
-    }
-
     public String extractUserEmail(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -474,11 +426,7 @@ public class JWTService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String getRefreshToken(String cookieToken, String headerToken) {
@@ -10,11 +10,12 @@ import io.mawhebty.enums.UserRoleEnum;
 import io.mawhebty.exceptions.*;
 import io.mawhebty.models.*;
 import io.mawhebty.repository.*;
+import io.mawhebty.services.auth.AuthSnapshotCache;
+import io.mawhebty.services.auth.OtpDigester;
 import io.mawhebty.support.MessageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,7 +29,7 @@ public class OTPService {
 
     private final UserRepository userRepository;
     private final UserOtpRepository userOtpRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final OtpDigester otpDigester;
     private final EmailService emailService;
     private final JWTService jwtService;
     private final TalentProfileRepository talentProfileRepository;
@@ -38,8 +39,12 @@ public class OTPService {
     private static final int OTP_EXPIRATION_MINUTES = 10;
     private static final int MAX_ACTIVE_OTP = 3;
     private final UserProfileService userProfileService;
+    private final AuthSnapshotCache authSnapshotCache;
     private final MessageService messageService; // Added
 
+    @Value("${otp.max-attempts:5}")
+    private int maxAttempts;
+
     private void sendOtpNotification(User user, String otp) {
         // 3. Send via Email
         if(user.getEmail()!= null && !user.getEmail().isEmpty()){
@@ -47,9 +52,14 @@ public class OTPService {
         }
     }
 
-    @Async
+    /**
+     * Issues a code: the OTP row and its email are written in the caller's transaction, or in a
+     * new one, and the outbox dispatcher is woken once it commits. Nothing here waits on the mail server.
+     */
+    @Transactional
     public OTPGenerationResponse generateAndSendOtp(GenerateOtpRequest request){
 
+        UserOTP otpRecord;
         try{
             User user = userRepository.findByEmail(request.getEmail())
                     .orElseThrow(() -> new UserNotFoundException(
@@ -69,9 +79,9 @@ public class OTPService {
             String otp = generateVerificationCode();
 
             // 2. Save to UserOTP table
-            UserOTP otpRecord = UserOTP.builder()
+            otpRecord = UserOTP.builder()
                     .user(user)
-                    .hashedCode(passwordEncoder.encode(otp))
+                    .hashedCode(otpDigester.digest(user.getId(), otp))
                     .isUsed(false)
                     .expiryDate(LocalDateTime.now().plusMinutes(OTP_EXPIRATION_MINUTES))
                     .build();
@@ -93,7 +103,7 @@ public class OTPService {
                 .success(true)
                 .message(messageService.getMessage("otp.sent.success"))
                 .nextStep("otp_verification")
-                .otpExpiresAt(LocalDateTime.now().plusMinutes(OTP_EXPIRATION_MINUTES))
+                .otpExpiresAt(otpRecord.getExpiryDate())
                 .verificationUrl("/auth/verify-otp")
                 .build();
     }
@@ -123,8 +133,15 @@ public class OTPService {
             );
         }
 
-        // 4. Validate OTP code
-        boolean isValid = passwordEncoder.matches(request.getOtpCode(), otpRecord.getHashedCode());
+        // 4. Take one of the code's attempts before comparing, so parallel guesses cannot overrun the limit
+        if (userOtpRepository.takeAttempt(otpRecord.getId(), otpRecord.getExpiryDate(), maxAttempts) == 0) {
+            throw new OTPAttemptsExceededException(
+                    messageService.getMessage("otp.too.many.attempts")
+            );
+        }
+
+        // 5. Validate OTP code
+        boolean isValid = otpDigester.matches(request.getUserId(), request.getOtpCode(), otpRecord.getHashedCode());
 
         if (!isValid) {
             return OTPVerificationResponse.builder()
@@ -134,11 +151,11 @@ public class OTPService {
                     .tokenResponse(null)
                     .build();
         }
-        // 5. Mark OTP as used
+        // 6. Mark OTP as used
         otpRecord.setUsed(true);
         userOtpRepository.save(otpRecord);
 
-        // 6. Update user to be verified
+        // 7. Update user to be verified
         User user = userRepository.findByIdFetchRoleAndStatusAndUserType(request.getUserId())
                 .orElseThrow(() -> new UserNotFoundException(
                         messageService.getMessage("user.not.found.id",
@@ -148,6 +165,7 @@ public class OTPService {
         if(!user.getIsVerified()) {
             user.setIsVerified(true);
             userRepository.save(user);
+            authSnapshotCache.invalidateAfterCommit(user.getId());
         }
 
         TokenResponse tokenResponse= jwtService.determineSuitableTokenResponse(user);
@@ -0,0 +1,63 @@
+package io.mawhebty.services;
+
+import io.mawhebty.projections.OwnerProfileProjection;
+import io.mawhebty.repository.CompanyResearcherProfileRepository;
+import io.mawhebty.repository.IndividualResearcherProfileRepository;
+import io.mawhebty.repository.TalentProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resolve owner name and avatar for a whole page at once (at most three queries, one per profile table)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OwnerProfileLoader {
+
+    private final TalentProfileRepository talentProfileRepository;
+    private final IndividualResearcherProfileRepository individualResearcherProfileRepository;
+    private final CompanyResearcherProfileRepository companyResearcherProfileRepository;
+
+    public Map<Long, OwnerProfileProjection> loadByUserIds(Collection<Long> userIds) {
+        Map<Long, OwnerProfileProjection> result = new HashMap<>();
+
+        Set<Long> pending = new HashSet<>(userIds);
+        pending.remove(null);
+        if (pending.isEmpty()) {
+            return result;
+        }
+
+        collect(talentProfileRepository.findOwnerProfilesByUserIds(pending), result, pending);
+        if (!pending.isEmpty()) {
+            collect(individualResearcherProfileRepository.findOwnerProfilesByUserIds(pending), result, pending);
+        }
+        if (!pending.isEmpty()) {
+            collect(companyResearcherProfileRepository.findOwnerProfilesByUserIds(pending), result, pending);
+        }
+
+        if (!pending.isEmpty()) {
+            log.warn("No profile found for owners: {}", pending);
+        }
+        return result;
+    }
+
+    private void collect(List<OwnerProfileProjection> profiles,
+                         Map<Long, OwnerProfileProjection> result,
+                         Set<Long> pending) {
+        for (OwnerProfileProjection profile : profiles) {
+            Long userId = Objects.requireNonNull(profile.getUserId());
+            result.putIfAbsent(userId, profile);
+            pending.remove(userId);
+        }
+    }
+}
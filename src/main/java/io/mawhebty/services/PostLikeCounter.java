@@ -0,0 +1,232 @@
+package io.mawhebty.services;
+
+import io.mawhebty.models.Post;
+import io.mawhebty.projections.PostLikesDriftProjection;
+import io.mawhebty.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory like/unlike deltas per post, written behind to posts.likes_count in batches.
+ * A like only bumps a striped LongAdder, so a viral post never queues on its posts row lock;
+ * readers add the pending delta to the stored column, no join or COUNT(*) over post_likes.
+ * <p>
+ * Deltas still in memory when an instance dies are lost, so a background pass walks the posts
+ * table a chunk at a time and resets likes_count from post_likes, which is always written
+ * synchronously and stays the source of truth. A post is only reset once it was seen off by
+ * the same amount on two passes in a row, so deltas other instances are about to flush are
+ * never counted twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostLikeCounter {
+
+    private final PostRepository postRepository;
+
+    @Value("${posts.likes.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${posts.likes.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${posts.likes.reconcile-interval-ms:10000}")
+    private long reconcileIntervalMs;
+
+    @Value("${posts.likes.reconcile-batch-size:1000}")
+    private int reconcileBatchSize;
+
+    // deltas not yet written to posts.likes_count
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    // last post id the reconcile pass covered, 0 starts over from the beginning of the table
+    private long reconciledUpTo;
+
+    // posts the previous reconcile pass found off, reset by the next one if they have not moved
+    private List<PostLikesDriftProjection> drifted = List.of();
+
+    @PostConstruct
+    void init() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("post-likes-flush-");
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, Duration.ofMillis(flushIntervalMs));
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, Duration.ofMillis(reconcileIntervalMs));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+        // last write-behind before the instance goes away
+        flushQuietly();
+    }
+
+    public void increment(Long postId) {
+        add(postId, 1);
+    }
+
+    public void decrement(Long postId) {
+        add(postId, -1);
+    }
+
+    public long likesCount(Post post) {
+        return likesCount(post.getId(), post.getLikesCount());
+    }
+
+    // storedCount is the posts.likes_count value the caller read
+    public long likesCount(Long postId, Long storedCount) {
+        long stored = storedCount != null ? storedCount : 0L;
+        LongAdder delta = pending.get(postId);
+        return Math.max(0L, stored + (delta != null ? delta.sum() : 0L));
+    }
+
+    /**
+     * Writes the pending deltas, batch by batch. A batch's deltas are only taken off the
+     * counters once its update committed, so a failed flush is simply retried next time.
+     */
+    public synchronized void flush() {
+        List<Map.Entry<Long, LongAdder>> batch = new ArrayList<>(flushBatchSize);
+        List<Long> deltas = new ArrayList<>(flushBatchSize);
+
+        // lowest ids first, so concurrent flushes from several instances lock rows in the same order
+        List<Long> postIds = pending.keySet().stream().sorted().toList();
+        for (Long postId : postIds) {
+            LongAdder adder = pending.get(postId);
+            if (adder == null) continue;
+
+            long delta = adder.sum();
+            if (delta == 0) {
+                retire(postId, adder);
+                continue;
+            }
+            batch.add(Map.entry(postId, adder));
+            deltas.add(delta);
+
+            if (batch.size() == flushBatchSize) {
+                write(batch, deltas);
+                batch.clear();
+                deltas.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, deltas);
+        }
+    }
+
+    /**
+     * Resets the posts the previous pass found off, then looks for drift in the next chunk.
+     * <p>
+     * A mismatch on its own does not tell a lost delta from one another instance has not flushed
+     * yet, so a drifted post is only reset a whole interval later, and only if neither its
+     * likes_count nor its post_likes count moved in between. A delta that was in flight has been
+     * written by then and moved likes_count, so the post is left alone; a lost one never will be.
+     * Only a flush held up for longer than the reconcile interval can still be counted twice.
+     */
+    public synchronized void reconcile() {
+        resetDrifted();
+        drifted = findDrift();
+    }
+
+    /*
+     * The adders are only lowered after the update committed. A reader that fetched the new
+     * likes_count in that gap still adds the old delta, so for a few milliseconds it may show a
+     * count that is one batch's delta too high. Lowering them first would instead show it too low
+     * for the whole update, and a failed update would have to put the deltas back; the brief
+     * overshoot is the accepted trade.
+     */
+    private void write(List<Map.Entry<Long, LongAdder>> batch, List<Long> deltas) {
+        postRepository.addToLikesCounts(
+                batch.stream().map(entry -> entry.getKey().toString()).collect(Collectors.joining(",")),
+                deltas.stream().map(String::valueOf).collect(Collectors.joining(",")));
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).getValue().add(-deltas.get(i));
+        }
+    }
+
+    private void resetDrifted() {
+        // whatever is still pending here is about to move likes_count anyway
+        List<PostLikesDriftProjection> candidates = drifted.stream()
+                .filter(row -> !pending.containsKey(row.getId()))
+                .toList();
+        drifted = List.of();
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        int corrected = postRepository.resetLikesCounts(
+                candidates.stream().map(row -> row.getId().toString()).collect(Collectors.joining(",")),
+                candidates.stream().map(row -> row.getStored().toString()).collect(Collectors.joining(",")),
+                candidates.stream().map(row -> row.getTotal().toString()).collect(Collectors.joining(",")));
+        if (corrected > 0) {
+            log.info("Reset likes_count of {} posts from post_likes", corrected);
+        }
+    }
+
+    private List<PostLikesDriftProjection> findDrift() {
+        List<Long> postIds = postRepository.findIdsAfter(reconciledUpTo, reconcileBatchSize);
+        if (postIds.isEmpty()) {
+            reconciledUpTo = 0;
+            return List.of();
+        }
+        long toId = postIds.get(postIds.size() - 1);
+        List<PostLikesDriftProjection> found = postRepository.findLikesCountDrift(postIds.get(0), toId);
+        reconciledUpTo = postIds.size() < reconcileBatchSize ? 0 : toId;
+        return found;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Flushing post like counts failed, retrying on the next run", e);
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Reconciling post like counts failed, retrying on the next run", e);
+        }
+    }
+
+    private void add(Long postId, long delta) {
+        LongAdder adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+        adder.add(delta);
+        if (pending.get(postId) != adder) {
+            // the flusher retired this adder meanwhile, carry what landed on it over to the live one
+            carryOver(postId, adder);
+        }
+    }
+
+    // drops an idle counter; anything added to it while it was being dropped is carried over
+    private void retire(Long postId, LongAdder adder) {
+        if (pending.remove(postId, adder)) {
+            carryOver(postId, adder);
+        }
+    }
+
+    private void carryOver(Long postId, LongAdder retired) {
+        long late = retired.sumThenReset();
+        if (late != 0) {
+            add(postId, late);
+        }
+    }
+}
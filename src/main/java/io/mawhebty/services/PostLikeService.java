@@ -0,0 +1,61 @@
+package io.mawhebty.services;
+
+import io.mawhebty.api.v1.resources.mawhebtyPlatform.PostLikeResponseResource;
+import io.mawhebty.enums.PostStatusEnum;
+import io.mawhebty.enums.PostVisibilityEnum;
+import io.mawhebty.exceptions.ResourceNotFoundException;
+import io.mawhebty.models.Post;
+import io.mawhebty.repository.PostLikeRepository;
+import io.mawhebty.repository.PostRepository;
+import io.mawhebty.support.MessageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostLikeService {
+
+    private final PostRepository postRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final PostLikeCounter postLikeCounter;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final MessageService messageService;
+
+    public PostLikeResponseResource likePost(Long userId, Long postId) {
+        // only published, public posts can be liked
+        Post post = postRepository.findByIdAndStatusAndVisibility(postId,
+                        referenceDataRegistry.postStatus(PostStatusEnum.PUBLISHED),
+                        referenceDataRegistry.postVisibility(PostVisibilityEnum.PUBLIC))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        messageService.getMessage("post.not.found", new Object[]{postId})
+                ));
+
+        // the insert commits on its own, the counter only moves for a like that was actually recorded
+        if (postLikeRepository.insertIfAbsent(postId, userId) > 0) {
+            postLikeCounter.increment(postId);
+        }
+        return mapToLikeResponse(post, true);
+    }
+
+    public PostLikeResponseResource unlikePost(Long userId, Long postId) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        messageService.getMessage("post.not.found", new Object[]{postId})
+                ));
+
+        if (postLikeRepository.deleteByPostIdAndUserId(postId, userId) > 0) {
+            postLikeCounter.decrement(postId);
+        }
+        return mapToLikeResponse(post, false);
+    }
+
+    private PostLikeResponseResource mapToLikeResponse(Post post, boolean liked) {
+        PostLikeResponseResource resource = new PostLikeResponseResource();
+        resource.setPostId(post.getId());
+        resource.setLiked(liked);
+        resource.setLikesCount(Math.toIntExact(postLikeCounter.likesCount(post)));
+        return resource;
+    }
+}
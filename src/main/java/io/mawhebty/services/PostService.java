@@ -7,29 +7,44 @@ import io.mawhebty.api.v1.resources.mawhebtyPlatform.PostListResponseResource;
 import io.mawhebty.api.v1.resources.mawhebtyPlatform.PostOwnerResource;
 import io.mawhebty.api.v1.resources.mawhebtyPlatform.PostWithRelatedResponseResource;
 import io.mawhebty.api.v1.resources.mawhebtyPlatform.SubcategoryResource;
+import io.mawhebty.dtos.RelatedPostSummary;
 import io.mawhebty.dtos.responses.*;
 import io.mawhebty.enums.PostStatusEnum;
 import io.mawhebty.enums.PostVisibilityEnum;
+import io.mawhebty.enums.SavedItemTypeEnum;
 import io.mawhebty.exceptions.ResourceNotFoundException;
 import io.mawhebty.models.*;
+import io.mawhebty.projections.OwnerProfileProjection;
+import io.mawhebty.projections.PostCard;
+import io.mawhebty.projections.PostLikesCountProjection;
 import io.mawhebty.repository.PostRepository;
-import io.mawhebty.repository.PostStatusRepository;
-import io.mawhebty.repository.PostVisibilityRepository;
+import io.mawhebty.repository.RowEstimateRepository;
 import io.mawhebty.repository.specification.PostSpecification;
+import io.mawhebty.services.auth.CurrentUserService;
+import io.mawhebty.support.CardSelection;
+import io.mawhebty.support.KeysetCursor;
+import io.mawhebty.support.KeysetPage;
 import io.mawhebty.support.MessageService;
+import io.mawhebty.support.SliceQueryExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -37,10 +52,15 @@ import java.util.Locale;
 public class PostService {
 
     private final PostRepository postRepository;
-    private final PostStatusRepository postStatusRepository;
-    private final PostVisibilityRepository postVisibilityRepository;
     private final MessageService messageService;
-    private final UserProfileService userProfileService;
+    private final OwnerProfileLoader ownerProfileLoader;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final SliceQueryExecutor sliceQueryExecutor;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final SavedStateResolver savedStateResolver;
+    private final PostLikeCounter postLikeCounter;
+    private final RelatedContentCache relatedContentCache;
+    private final CurrentUserService currentUserService;
 
     public PaginatedListResponseResource getPosts(
             Integer categoryId,
@@ -50,24 +70,29 @@ public class PostService {
             String search,
             Integer page,
             Integer perPage,
-            String sortBy
+            String sortBy,
+            String cursor,
+            boolean withTotal,
+            boolean estimateTotal
     ) {
         // Get PUBLISHED status
-        PostStatus publishedStatus = postStatusRepository.findByName(PostStatusEnum.PUBLISHED.getName())
-                .orElseThrow(() -> new RuntimeException("Published status not found"));
+        PostStatus publishedStatus = referenceDataRegistry.postStatus(PostStatusEnum.PUBLISHED);
         
         // Get PUBLIC visibility
-        PostVisibility publicVisibility = postVisibilityRepository.findByName(PostVisibilityEnum.PUBLIC.getName())
-                .orElseThrow(() -> new RuntimeException("Public visibility not found"));
-
-        Sort sort = Sort.by("createdAt").descending();
-        if (sortBy != null) {
-            sort = sortBy.equals("created_asc")
-                    ? Sort.by("createdAt").ascending()
-                    : Sort.by("createdAt").descending();
-        }
+        PostVisibility publicVisibility = referenceDataRegistry.postVisibility(PostVisibilityEnum.PUBLIC);
+
+        // id breaks ties between equal timestamps so the keyset order is total
+        boolean ascending = "created_asc".equals(sortBy);
+        Sort sort = ascending
+                ? Sort.by("createdAt").ascending().and(Sort.by("id").ascending())
+                : Sort.by("createdAt").descending().and(Sort.by("id").descending());
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        Pageable pageable = PageRequest.of(page - 1, perPage, sort);
+        // a search without an explicit date order is ranked by relevance (page mode only,
+        // cursors always walk the date keyset), the same default events and articles use
+        boolean ranked = after == null && (sortBy == null || "relevance".equals(sortBy))
+                && search != null && !search.isBlank();
 
         // Build specification with mandatory filters
         Specification<Post> spec = Specification.allOf(
@@ -76,20 +101,52 @@ public class PostService {
                 PostSpecification.hasCategory(categoryId),
                 PostSpecification.hasSubCategory(subCategoryId),
                 PostSpecification.hasOwner(ownerId!= null? ownerId.longValue(): null),
-                PostSpecification.search(search)
+                PostSpecification.search(search),
+                PostSpecification.createdAfter(after, ascending),
+                ranked ? PostSpecification.rankedBy(search) : null
         );
 
-        Page<Post> postPage = postRepository.findAll(spec, pageable);
-
         PaginatedListResponseResource resource= new PaginatedListResponseResource();
-        resource.setTotalItems(BigDecimal.valueOf(postPage.getTotalElements()));
-        resource.setCurrentPage(page);
+        CardSelection<Post> columns = PostCard.columns(LocaleContextHolder.getLocale());
+        Slice<PostCard> postPage;
+
+        if (after != null) {
+            // Cursor mode: constant cost per page, no total
+            postPage = sliceQueryExecutor.findSlice(Post.class, spec, PageRequest.of(0, perPage, sort), PostCard.class, columns);
+        } else {
+            Pageable pageable = PageRequest.of(page - 1, perPage, ranked ? Sort.unsorted() : sort);
+            if (withTotal) {
+                Page<PostCard> countedPage = sliceQueryExecutor.findPage(Post.class, spec, pageable, PostCard.class, columns);
+                resource.setTotalItems(BigDecimal.valueOf(countedPage.getTotalElements()));
+                resource.setTotalPages(countedPage.getTotalPages());
+                postPage = countedPage;
+            } else {
+                // Slice mode: no COUNT query, optionally a planner estimate for display
+                postPage = sliceQueryExecutor.findSlice(Post.class, spec, pageable, PostCard.class, columns);
+                if (estimateTotal) {
+                    resource.setTotalItems(BigDecimal.valueOf(rowEstimateRepository.estimatePosts(
+                            publishedStatus.getId(), publicVisibility.getId(), categoryId, subCategoryId,
+                            ownerId != null ? ownerId.longValue() : null, search)));
+                    resource.setTotalIsEstimate(true);
+                }
+            }
+            resource.setCurrentPage(page);
+        }
+
+        List<PostCard> posts = postPage.getContent();
+        boolean hasNext = postPage.hasNext();
+        KeysetCursor next = ranked ? null : new KeysetPage<>(posts, hasNext).nextCursor(PostCard::getCreatedAt, PostCard::getId);
+        Map<Long, OwnerProfileProjection> owners = ownerProfileLoader.loadByUserIds(
+                posts.stream().map(PostCard::getOwnerId).collect(Collectors.toSet()));
+        Set<Long> savedPostIds = savedStateResolver.savedItemIds(currentViewerId(), SavedItemTypeEnum.POST,
+                posts.stream().map(PostCard::getId).toList());
+
         resource.setPerPage(perPage);
-        resource.setTotalPages(postPage.getTotalPages());
+        resource.setHasNext(hasNext);
+        resource.setNextCursor(next != null ? next.encode() : null);
         resource.setData(
-                postPage.getContent()
-                        .stream()
-                        .map(this::mapToPostListItemResponse)
+                posts.stream()
+                        .map(post -> mapToPostListItemResponse(post, owners, savedPostIds))
                         .toList()
         );
         return resource;
@@ -98,6 +155,8 @@ public class PostService {
     public PaginatedListResponseResource getPostsByUserId(Long ownerId, Integer page, Integer perPage) {
 
         List<Post> posts = postRepository.findByOwnerIdWithPagination(ownerId, perPage, page);
+        Map<Long, OwnerProfileProjection> owners = loadOwners(posts);
+        Set<Long> savedPostIds = loadSavedPostIds(posts);
 
         PaginatedListResponseResource resource= new PaginatedListResponseResource();
         resource.setTotalItems(BigDecimal.valueOf(posts.size()));
@@ -106,7 +165,7 @@ public class PostService {
         resource.setTotalPages(1);
         resource.setData(
                 posts.stream()
-                        .map(this::mapToPostListItemResponse)
+                        .map(post -> mapToPostListItemResponse(post, owners, savedPostIds))
                         .toList()
         );
         return resource;
@@ -114,12 +173,10 @@ public class PostService {
 
     public PostWithRelatedResponseResource getPostById(Long id) {
         // Get PUBLISHED status
-        PostStatus publishedStatus = postStatusRepository.findByName(PostStatusEnum.PUBLISHED.getName())
-                .orElseThrow(() -> new RuntimeException("Published status not found"));
+        PostStatus publishedStatus = referenceDataRegistry.postStatus(PostStatusEnum.PUBLISHED);
         
         // Get PUBLIC visibility
-        PostVisibility publicVisibility = postVisibilityRepository.findByName(PostVisibilityEnum.PUBLIC.getName())
-                .orElseThrow(() -> new RuntimeException("Public visibility not found"));
+        PostVisibility publicVisibility = referenceDataRegistry.postVisibility(PostVisibilityEnum.PUBLIC);
 
         // Get the main post with PUBLISHED status and PUBLIC visibility
         Post post = postRepository.findByIdAndStatusAndVisibility(id, publishedStatus, publicVisibility)
@@ -127,20 +184,26 @@ public class PostService {
                         "Post not found or not accessible (not published or not public) with id: " + id
                 ));
 
-        // Get 5 related posts based on category and subCategory, excluding the main post
-        List<Post> relatedPosts = postRepository.findTop5ByCategoryAndIdNotAndStatusAndVisibilityOrderByCreatedAtDesc(
-                post.getCategory(), 
-                post.getId(), 
-                publishedStatus, 
-                publicVisibility
-        );
+        // Up to 5 related posts of the same category, served from the category's ring
+        List<RelatedPostSummary> relatedPosts = relatedContentCache.relatedPosts(post.getCategory().getId(), post.getId());
+
+        Map<Long, OwnerProfileProjection> owners = loadOwners(List.of(post));
+        List<Long> postIds = new ArrayList<>(relatedPosts.stream().map(RelatedPostSummary::getId).toList());
+        postIds.add(post.getId());
+        Set<Long> savedPostIds = savedStateResolver.savedItemIds(currentViewerId(), SavedItemTypeEnum.POST, postIds);
 
         // Map main post
-        PostWithRelatedResponseResource response = mapToPostWithRelatedResponse(post);
+        PostWithRelatedResponseResource response = mapToPostWithRelatedResponse(post, owners, savedPostIds);
+
+        // the rings carry no like counts, they are read live by primary key
+        Map<Long, Long> likesCounts = relatedPosts.isEmpty() ? Map.of() :
+                postRepository.findLikesCountsByIds(relatedPosts.stream().map(RelatedPostSummary::getId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(PostLikesCountProjection::getId, PostLikesCountProjection::getLikesCount));
 
         // Map related posts
         List<PostListItemResource> related = relatedPosts.stream()
-                .map(this::mapToPostListItemResponse)
+                .map(relatedPost -> mapToPostListItemResponse(relatedPost, savedPostIds, likesCounts.get(relatedPost.getId())))
                 .toList();
 
         response.setRelatedPosts(related);
@@ -148,12 +211,28 @@ public class PostService {
         return response;
     }
 
-    private PostListItemResource mapToPostListItemResponse(Post post) {
+    private Map<Long, OwnerProfileProjection> loadOwners(List<Post> posts) {
+        return ownerProfileLoader.loadByUserIds(
+                posts.stream().map(post -> post.getOwnerUser().getId()).collect(Collectors.toSet()));
+    }
+
+    private Set<Long> loadSavedPostIds(List<Post> posts) {
+        return savedStateResolver.savedItemIds(currentViewerId(), SavedItemTypeEnum.POST,
+                posts.stream().map(Post::getId).toList());
+    }
+
+    private Long currentViewerId() {
+        return currentUserService.findCurrentUserId(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private PostListItemResource mapToPostListItemResponse(Post post,
+                                                           Map<Long, OwnerProfileProjection> owners,
+                                                           Set<Long> savedPostIds) {
         Locale locale = LocaleContextHolder.getLocale();
 
         PostListItemResource resource = new PostListItemResource();
         resource.setId(BigDecimal.valueOf(post.getId()));
-        resource.setOwner(mapToPostOwner(post.getOwnerUser()));
+        resource.setOwner(mapToPostOwner(post.getOwnerUser().getId(), owners));
         resource.setTitle(post.getTitle());
         resource.setCaption(post.getCaption());
         resource.setMediaUrl(post.getMediaUrl());
@@ -165,15 +244,60 @@ public class PostService {
                 ("en".equals(locale.getLanguage()) ? post.getSubCategory().getNameEn() : post.getSubCategory().getNameAr()) 
             : null);
         resource.setDate(post.getCreatedAt());
-        resource.setIsSaved(false); // TODO: Placeholder, implement logic to check if saved
-        resource.setLikesCount(0); // TODO: Placeholder, implement logic to get likes count
+        resource.setIsSaved(savedPostIds.contains(post.getId()));
+        resource.setLikesCount(Math.toIntExact(postLikeCounter.likesCount(post)));
         return resource;
     }
 
-    private PostWithRelatedResponseResource mapToPostWithRelatedResponse(Post post) {
+    private PostListItemResource mapToPostListItemResponse(PostCard post,
+                                                           Map<Long, OwnerProfileProjection> owners,
+                                                           Set<Long> savedPostIds) {
+        PostListItemResource resource = new PostListItemResource();
+        resource.setId(BigDecimal.valueOf(post.getId()));
+        resource.setOwner(mapToPostOwner(post.getOwnerId(), owners));
+        resource.setTitle(post.getTitle());
+        resource.setCaption(post.getCaption());
+        resource.setMediaUrl(post.getMediaUrl());
+        resource.setDurationSeconds(post.getDurationSeconds());
+        resource.setCategoryName(post.getCategoryName());
+        resource.setSubCategoryName(post.getSubCategoryName());
+        resource.setDate(post.getCreatedAt());
+        resource.setIsSaved(savedPostIds.contains(post.getId()));
+        resource.setLikesCount(Math.toIntExact(postLikeCounter.likesCount(post.getId(), post.getLikesCount())));
+        return resource;
+    }
+
+    private PostListItemResource mapToPostListItemResponse(RelatedPostSummary summary, Set<Long> savedPostIds,
+                                                           Long storedLikesCount) {
+        boolean en = "en".equals(LocaleContextHolder.getLocale().getLanguage());
+
+        PostOwnerResource owner = new PostOwnerResource();
+        owner.setId(BigDecimal.valueOf(summary.getOwnerId()));
+        owner.setFirstName(summary.getOwnerFirstName());
+        owner.setLastName(summary.getOwnerLastName());
+        owner.setImageUrl(summary.getOwnerImageUrl());
+
+        PostListItemResource resource = new PostListItemResource();
+        resource.setId(BigDecimal.valueOf(summary.getId()));
+        resource.setOwner(owner);
+        resource.setTitle(summary.getTitle());
+        resource.setCaption(summary.getCaption());
+        resource.setMediaUrl(summary.getMediaUrl());
+        resource.setDurationSeconds(summary.getDurationSeconds());
+        resource.setCategoryName(en ? summary.getCategoryNameEn() : summary.getCategoryNameAr());
+        resource.setSubCategoryName(en ? summary.getSubCategoryNameEn() : summary.getSubCategoryNameAr());
+        resource.setDate(summary.getCreatedAt());
+        resource.setIsSaved(savedPostIds.contains(summary.getId()));
+        resource.setLikesCount(Math.toIntExact(postLikeCounter.likesCount(summary.getId(), storedLikesCount)));
+        return resource;
+    }
+
+    private PostWithRelatedResponseResource mapToPostWithRelatedResponse(Post post,
+                                                                         Map<Long, OwnerProfileProjection> owners,
+                                                                         Set<Long> savedPostIds) {
         PostWithRelatedResponseResource resource = new PostWithRelatedResponseResource();
         resource.setId(BigDecimal.valueOf(post.getId()));
-        resource.setOwner(mapToPostOwner(post.getOwnerUser()));
+        resource.setOwner(mapToPostOwner(post.getOwnerUser().getId(), owners));
         // resource.setType(post.getType() != null ? post.getType().getName() : null);
         resource.setTitle(post.getTitle());
         resource.setCaption(post.getCaption());
@@ -186,39 +310,28 @@ public class PostService {
         resource.setSubCategoryName(post.getSubCategory() != null ? LocaleContextHolder.getLocale().getLanguage().equals("en") ?
                 post.getSubCategory().getNameEn() : post.getSubCategory().getNameAr() : null);
         resource.setDate(post.getCreatedAt());
-        resource.setIsSaved(false); // TODO: Placeholder, implement logic to check if saved
-        resource.setLikesCount(0); // TODO: Placeholder, implement logic to get likes count
+        resource.setIsSaved(savedPostIds.contains(post.getId()));
+        resource.setLikesCount(Math.toIntExact(postLikeCounter.likesCount(post)));
         // resource.setCreatedAt(post.getCreatedAt());
         // resource.setUpdatedAt(post.getUpdatedAt());
         
         return resource;
     }
 
-    private PostOwnerResource mapToPostOwner(User user) {
-        PostOwnerResource resource = new PostOwnerResource();
-
-        resource.setId(BigDecimal.valueOf(user.getId()));
-
-        Object profile= this.userProfileService.getUserProfile(user);
-        if (profile instanceof TalentProfile talentProfile) {
-            resource.setFirstName(talentProfile.getFirstName());
-            resource.setLastName(talentProfile.getLastName());
-            resource.setImageUrl(talentProfile.getProfilePicture());
-        }else if (profile instanceof IndividualResearcherProfile individualResearcherProfile){
-            resource.setFirstName(individualResearcherProfile.getFirstName());
-            resource.setLastName(individualResearcherProfile.getLastName());
-            resource.setImageUrl(individualResearcherProfile.getProfilePicture());
-        }else if (profile instanceof CompanyResearcherProfile companyResearcherProfile){
-            resource.setFirstName(companyResearcherProfile.getCompanyName());
-            resource.setImageUrl(companyResearcherProfile.getProfilePicture());
-        }else {
-            String s = profile != null ? profile.getClass().getName() : "null";
+    private PostOwnerResource mapToPostOwner(Long ownerId, Map<Long, OwnerProfileProjection> owners) {
+        OwnerProfileProjection profile = owners.get(ownerId);
+        if (profile == null) {
             log.warn(messageService.getMessage("unknown.profile.type",
-                    new Object[]{s}));
+                    new Object[]{"null"}));
             throw new IllegalStateException(messageService.getMessage("unknown.profile.type",
-                    new Object[]{s}));
+                    new Object[]{"null"}));
         }
 
+        PostOwnerResource resource = new PostOwnerResource();
+        resource.setId(BigDecimal.valueOf(ownerId));
+        resource.setFirstName(profile.getFirstName());
+        resource.setLastName(profile.getLastName());
+        resource.setImageUrl(profile.getImageUrl());
         return resource;
     }
 
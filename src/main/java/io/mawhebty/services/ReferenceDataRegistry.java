@@ -0,0 +1,137 @@
+package io.mawhebty.services;
+
+import io.mawhebty.enums.MediaModerationStatusEnum;
+import io.mawhebty.enums.PostStatusEnum;
+import io.mawhebty.enums.PostTypeEnum;
+import io.mawhebty.enums.PostVisibilityEnum;
+import io.mawhebty.enums.SavedItemTypeEnum;
+import io.mawhebty.enums.UserStatusEnum;
+import io.mawhebty.models.MediaModerationStatus;
+import io.mawhebty.models.PostStatus;
+import io.mawhebty.models.PostType;
+import io.mawhebty.models.PostVisibility;
+import io.mawhebty.models.SavedItemType;
+import io.mawhebty.models.UserStatus;
+import io.mawhebty.repository.MediaModerationStatusRepository;
+import io.mawhebty.repository.PostStatusRepository;
+import io.mawhebty.repository.PostTypeRepository;
+import io.mawhebty.repository.PostVisibilityRepository;
+import io.mawhebty.repository.SavedItemTypeRepository;
+import io.mawhebty.repository.UserStatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of the seeded lookup tables (statuses, visibility, types), indexed by enum ordinal.
+ * Loaded once the Flyway runner has finished; call {@link #refresh()} after reseeding.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataRegistry {
+
+    private final PostStatusRepository postStatusRepository;
+    private final PostVisibilityRepository postVisibilityRepository;
+    private final UserStatusRepository userStatusRepository;
+    private final MediaModerationStatusRepository mediaModerationStatusRepository;
+    private final PostTypeRepository postTypeRepository;
+    private final SavedItemTypeRepository savedItemTypeRepository;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /** Reload every lookup table and swap the snapshot atomically */
+    public synchronized void refresh() {
+        Snapshot loaded = new Snapshot(
+                index(PostStatusEnum.values(), postStatusRepository.findAll(), PostStatusEnum::getName, PostStatus::getName, new PostStatus[PostStatusEnum.values().length]),
+                index(PostVisibilityEnum.values(), postVisibilityRepository.findAll(), PostVisibilityEnum::getName, PostVisibility::getName, new PostVisibility[PostVisibilityEnum.values().length]),
+                index(UserStatusEnum.values(), userStatusRepository.findAll(), UserStatusEnum::getName, UserStatus::getName, new UserStatus[UserStatusEnum.values().length]),
+                index(MediaModerationStatusEnum.values(), mediaModerationStatusRepository.findAll(), MediaModerationStatusEnum::getName, MediaModerationStatus::getName, new MediaModerationStatus[MediaModerationStatusEnum.values().length]),
+                index(PostTypeEnum.values(), postTypeRepository.findAll(), PostTypeEnum::getName, PostType::getName, new PostType[PostTypeEnum.values().length]),
+                index(SavedItemTypeEnum.values(), savedItemTypeRepository.findAll(), SavedItemTypeEnum::name, t -> t.getName() != null ? t.getName().name() : null, new SavedItemType[SavedItemTypeEnum.values().length])
+        );
+        this.snapshot = loaded;
+        log.info("Reference data loaded");
+    }
+
+    public PostStatus postStatus(PostStatusEnum status) {
+        return require(snapshot().postStatuses[status.ordinal()], "post_statuses", status.getName());
+    }
+
+    public PostVisibility postVisibility(PostVisibilityEnum visibility) {
+        return require(snapshot().postVisibilities[visibility.ordinal()], "post_visibility", visibility.getName());
+    }
+
+    public UserStatus userStatus(UserStatusEnum status) {
+        return require(snapshot().userStatuses[status.ordinal()], "user_statuses", status.getName());
+    }
+
+    public MediaModerationStatus mediaModerationStatus(MediaModerationStatusEnum status) {
+        return require(snapshot().mediaModerationStatuses[status.ordinal()], "media_moderation_statuses", status.getName());
+    }
+
+    public PostType postType(PostTypeEnum type) {
+        return require(snapshot().postTypes[type.ordinal()], "post_types", type.getName());
+    }
+
+    public SavedItemType savedItemType(SavedItemTypeEnum type) {
+        return require(snapshot().savedItemTypes[type.ordinal()], "saved_item_types", type.name());
+    }
+
+    // requests can arrive before ApplicationReadyEvent, so load on first use as well
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static <E extends Enum<E>, T> T[] index(E[] constants, List<T> rows,
+                                                    Function<E, String> enumName,
+                                                    Function<T, String> rowName,
+                                                    T[] target) {
+        for (E constant : constants) {
+            String name = enumName.apply(constant);
+            for (T row : rows) {
+                if (name.equals(rowName.apply(row))) {
+                    target[constant.ordinal()] = row;
+                    break;
+                }
+            }
+        }
+        return target;
+    }
+
+    private static <T> T require(T value, String table, String name) {
+        if (value == null) {
+            throw new IllegalStateException(table + " row not found: " + name);
+        }
+        return value;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Snapshot {
+        private final PostStatus[] postStatuses;
+        private final PostVisibility[] postVisibilities;
+        private final UserStatus[] userStatuses;
+        private final MediaModerationStatus[] mediaModerationStatuses;
+        private final PostType[] postTypes;
+        private final SavedItemType[] savedItemTypes;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import io.mawhebty.dtos.requests.DraftRegistrationRequest;
 import io.mawhebty.dtos.requests.GenerateOtpRequest;
 import io.mawhebty.dtos.requests.LoginRequest;
+import io.mawhebty.services.auth.AuthSnapshotCache;
 import io.mawhebty.services.validations.RegistrationValidationService;
 import io.mawhebty.support.MessageService;
 import jakarta.transaction.Transactional;
@@ -28,15 +29,11 @@ public class RegistrationService {
     private final ModerationQueueService moderationQueueService;
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
-    private final UserStatusRepository userStatusRepository;
     private final S3Service s3Service;
     private final UserProfileService userProfileService;
     private final PostRepository postRepository;
-    private final PostTypeRepository postTypeRepository;
-    private final PostStatusRepository postStatusRepository;
-    private final PostVisibilityRepository visibilityRepository;
     private final MediaModerationRepository mediaModerationRepository;
-    private final MediaModerationStatusRepository mediaModerationStatusRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final OTPService otpService;
     private final RegistrationValidationService validationService;
     private final TalentFormValueService talentFormValueService;
@@ -44,8 +41,10 @@ public class RegistrationService {
     private final TalentSubCategoryRepository talentSubCategoryRepository;
     private final UserService userService;
     private final UserTypeRepository userTypeRepository;
+    private final AuthSnapshotCache authSnapshotCache;
     private final MessageService messageService; // Added
 
+    // the user and the OTP are committed together when this returns, the email goes out from the outbox
     @Transactional
     public LoginResponse login(LoginRequest request) {
 
@@ -153,28 +152,16 @@ public class RegistrationService {
             validationService.validateResearcherRegistration(request, isIndividualResearcher);
 
             if (isIndividualResearcher) {
-                UserStatus activeStatus = userStatusRepository.findByName(UserStatusEnum.ACTIVE.getName())
-                        .orElseThrow(() -> new UserStatusNotFoundException(
-                                messageService.getMessage("status.not.found",
-                                        new Object[]{UserStatusEnum.ACTIVE.getName()})
-                        ));
+                UserStatus activeStatus = referenceDataRegistry.userStatus(UserStatusEnum.ACTIVE);
 
                 user.setStatus(activeStatus);
                 User savedUser = userRepository.save(user);
+                authSnapshotCache.invalidateAfterCommit(savedUser.getId());
 
                 IndividualResearcherProfile profile= (IndividualResearcherProfile) userProfileService.createResearcherProfile(
                         savedUser,request, talentCategory, talentSubCategory, true);
 
-                String fullAccessToken = jwtService.generateToken(savedUser.getId(), savedUser.getEmail(),
-                        savedUser.getRole(), "FULL_ACCESS", user.getStatus());
-                String refreshToken = jwtService.generateRefreshToken(savedUser.getId(), savedUser.getEmail());
-
-                TokenResponse tokenResponse = TokenResponse.builder()
-                        .accessToken(fullAccessToken)
-                        .refreshToken(refreshToken)
-                        .tokenType("FULL_ACCESS")
-                        .expiresIn(jwtService.getRemainingTokenTime(fullAccessToken))
-                        .build();
+                TokenResponse tokenResponse = jwtService.generateTokenPair(savedUser, "FULL_ACCESS");
 
                 UserRegistrationResponseDto userRegistrationResponseDto= this.prepareUserRegistrationResponse(user, profile);
                 userRegistrationResponseDto.setPermissions(jwtService.getFullPermissions(role));
@@ -190,6 +177,8 @@ public class RegistrationService {
         );
 
         User savedUser = userRepository.save(user);
+        // the draft now has its role
+        authSnapshotCache.invalidateAfterCommit(savedUser.getId());
 
         // 4. Create user profile
         Object profile = this.createUserProfile(request, role, savedUser, talentCategory, talentSubCategory);
@@ -217,23 +206,11 @@ public class RegistrationService {
 
     private void createFirstPost(User user, String mediaUrl, TalentCategory tc, TalentSubCategory tsc) {
         try {
-            PostType registrationFileType = postTypeRepository.findByName(PostTypeEnum.REGISTRATION_FILE.getName())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            messageService.getMessage("post.type.not.found",
-                                    new Object[]{PostTypeEnum.REGISTRATION_FILE.getName()})
-                    ));
+            PostType registrationFileType = referenceDataRegistry.postType(PostTypeEnum.REGISTRATION_FILE);
 
-            PostStatus draftStatus = postStatusRepository.findByName(PostStatusEnum.DRAFT.getName())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            messageService.getMessage("post.status.not.found",
-                                    new Object[]{PostStatusEnum.DRAFT.getName()})
-                    ));
+            PostStatus draftStatus = referenceDataRegistry.postStatus(PostStatusEnum.DRAFT);
 
-            PostVisibility privateVisibility = visibilityRepository.findByName(PostVisibilityEnum.PRIVATE.getName())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            messageService.getMessage("post.visibility.not.found",
-                                    new Object[]{PostVisibilityEnum.PRIVATE.getName()})
-                    ));
+            PostVisibility privateVisibility = referenceDataRegistry.postVisibility(PostVisibilityEnum.PRIVATE);
 
             String postTitle= messageService.getMessage("first.post.title");
             String postCaption= messageService.getMessage("first.post.caption");
@@ -272,11 +249,7 @@ public class RegistrationService {
     }
 
     private MediaModeration createMediaModerationRecord() {
-        MediaModerationStatus status= mediaModerationStatusRepository.findByName(MediaModerationStatusEnum.PENDING.getName())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        messageService.getMessage("media.moderation.status.not.found",
-                                new Object[]{MediaModerationStatusEnum.PENDING.getName()})
-                ));
+        MediaModerationStatus status= referenceDataRegistry.mediaModerationStatus(MediaModerationStatusEnum.PENDING);
 
         return mediaModerationRepository.save(MediaModeration.builder()
                 .status(status)
@@ -298,14 +271,11 @@ public class RegistrationService {
             );
         }
 
-        UserStatus pendingModerationStatus = userStatusRepository.findByName(UserStatusEnum.PENDING_MODERATION.getName())
-                .orElseThrow(() -> new UserStatusNotFoundException(
-                        messageService.getMessage("status.not.found",
-                                new Object[]{UserStatusEnum.PENDING_MODERATION.getName()})
-                ));
+        UserStatus pendingModerationStatus = referenceDataRegistry.userStatus(UserStatusEnum.PENDING_MODERATION);
 
         user.setStatus(pendingModerationStatus);
         userRepository.save(user);
+        authSnapshotCache.invalidateAfterCommit(user.getId());
 
         Post userRegisterationPost= postRepository.findByOwnerUserId(user.getId())
                 .orElseThrow(()-> new ResourceNotFoundException(
@@ -327,28 +297,16 @@ public class RegistrationService {
         }
 
         if(messageWasSent){
-            PostStatus postPendingModerationStatus = postStatusRepository.findByName(PostStatusEnum.PENDING_MODERATION.getName())
-                    .orElseThrow(() -> new UserStatusNotFoundException(
-                            messageService.getMessage("status.not.found",
-                                    new Object[]{PostStatusEnum.PENDING_MODERATION.getName()})
-                    ));
+            PostStatus postPendingModerationStatus = referenceDataRegistry.postStatus(PostStatusEnum.PENDING_MODERATION);
             userRegisterationPost.setStatus(postPendingModerationStatus);
             userRegisterationPost.setMediaModeration(this.createMediaModerationRecord());
             postRepository.save(userRegisterationPost);
         }
 
-        String limitedToken = jwtService.generateToken(user.getId(), user.getEmail(), user.getRole(), "LIMITED_ACCESS", user.getStatus());
-        String refreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
+        TokenResponse tokenResponse= jwtService.generateTokenPair(user, "LIMITED_ACCESS");
 
         Object profile= userProfileService.getUserProfile(user);
 
-        TokenResponse tokenResponse= TokenResponse.builder()
-                .accessToken(limitedToken)
-                .refreshToken(refreshToken)
-                .tokenType("LIMITED_ACCESS")
-                .expiresIn(jwtService.getRemainingTokenTime(limitedToken))
-                .build();
-
         UserRegistrationResponseDto userRegistrationResponseDto= this.prepareUserRegistrationResponse(user, profile);
         userRegistrationResponseDto.setPermissions(jwtService.getLimitedPermissions(user.getRole()));
 
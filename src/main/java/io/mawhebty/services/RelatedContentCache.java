@@ -0,0 +1,174 @@
+package io.mawhebty.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.mawhebty.dtos.RelatedEventSummary;
+import io.mawhebty.dtos.RelatedPostSummary;
+import io.mawhebty.enums.PostStatusEnum;
+import io.mawhebty.enums.PostVisibilityEnum;
+import io.mawhebty.models.Event;
+import io.mawhebty.models.Post;
+import io.mawhebty.projections.OwnerProfileProjection;
+import io.mawhebty.repository.EventRepository;
+import io.mawhebty.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Per-category rings of the latest related posts and events, already mapped to summaries,
+ * so detail pages serve their related items from memory. A ring holds one item more than a
+ * page shows, leaving enough after the viewed item itself is skipped.
+ * Rings are dropped when a post changes status or an event changes in their category,
+ * and reloaded on the next detail view. Like counts move far too often to be kept here;
+ * callers read them live.
+ */
+@Service
+@RequiredArgsConstructor
+public class RelatedContentCache {
+
+    public static final int RELATED_ITEMS = 5;
+
+    private static final Sort POSTS_RING_SORT = Sort.by("createdAt").descending().and(Sort.by("id").descending());
+    private static final Sort EVENTS_RING_SORT = Sort.by("eventDate").ascending().and(Sort.by("id").ascending());
+
+    private final PostRepository postRepository;
+    private final EventRepository eventRepository;
+    private final OwnerProfileLoader ownerProfileLoader;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    @Value("${related.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<Integer, List<RelatedPostSummary>> postRings;
+    private Cache<Integer, List<RelatedEventSummary>> eventRings;
+
+    @PostConstruct
+    void init() {
+        postRings = CacheBuilder.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        eventRings = CacheBuilder.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public List<RelatedPostSummary> relatedPosts(Integer categoryId, Long excludedPostId) {
+        return load(postRings, categoryId, () -> loadPostRing(categoryId)).stream()
+                .filter(summary -> !summary.getId().equals(excludedPostId))
+                .limit(RELATED_ITEMS)
+                .toList();
+    }
+
+    public List<RelatedEventSummary> relatedEvents(Integer categoryId, Long excludedEventId) {
+        return load(eventRings, categoryId, () -> loadEventRing(categoryId)).stream()
+                .filter(summary -> !summary.getId().equals(excludedEventId))
+                .limit(RELATED_ITEMS)
+                .toList();
+    }
+
+    // a post in this category was published, rejected or otherwise changed status
+    public void postStatusChanged(Integer categoryId) {
+        evictAfterCommit(postRings, categoryId);
+    }
+
+    // an event in this category was created, updated or deleted
+    public void eventChanged(Integer categoryId) {
+        evictAfterCommit(eventRings, categoryId);
+    }
+
+    private <T> List<T> load(Cache<Integer, List<T>> rings, Integer categoryId,
+                             Callable<List<T>> loader) {
+        try {
+            // concurrent misses for the same category share a single load
+            return rings.get(categoryId, loader);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Loading related items for category " + categoryId + " failed", e.getCause());
+        }
+    }
+
+    private List<RelatedPostSummary> loadPostRing(Integer categoryId) {
+        List<Post> posts = postRepository.findByCategoryIdAndStatusAndVisibility(
+                categoryId,
+                referenceDataRegistry.postStatus(PostStatusEnum.PUBLISHED),
+                referenceDataRegistry.postVisibility(PostVisibilityEnum.PUBLIC),
+                PageRequest.of(0, RELATED_ITEMS + 1, POSTS_RING_SORT));
+
+        Map<Long, OwnerProfileProjection> owners = ownerProfileLoader.loadByUserIds(
+                posts.stream().map(post -> post.getOwnerUser().getId()).collect(Collectors.toSet()));
+
+        return posts.stream()
+                .map(post -> mapToPostSummary(post, owners.get(post.getOwnerUser().getId())))
+                .toList();
+    }
+
+    private List<RelatedEventSummary> loadEventRing(Integer categoryId) {
+        return eventRepository.findByCategoryId(categoryId, PageRequest.of(0, RELATED_ITEMS + 1, EVENTS_RING_SORT))
+                .stream()
+                .map(this::mapToEventSummary)
+                .toList();
+    }
+
+    private <T> void evictAfterCommit(Cache<Integer, List<T>> rings, Integer categoryId) {
+        if (categoryId == null) return;
+
+        // evicting before commit would let a concurrent reader reload the old ring
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rings.invalidate(categoryId);
+                }
+            });
+        } else {
+            rings.invalidate(categoryId);
+        }
+    }
+
+    private RelatedPostSummary mapToPostSummary(Post post, OwnerProfileProjection owner) {
+        if (owner == null) {
+            throw new IllegalStateException("No profile found for post owner: " + post.getOwnerUser().getId());
+        }
+        return RelatedPostSummary.builder()
+                .id(post.getId())
+                .ownerId(post.getOwnerUser().getId())
+                .ownerFirstName(owner.getFirstName())
+                .ownerLastName(owner.getLastName())
+                .ownerImageUrl(owner.getImageUrl())
+                .title(post.getTitle())
+                .caption(post.getCaption())
+                .mediaUrl(post.getMediaUrl())
+                .durationSeconds(post.getDurationSeconds())
+                .categoryNameEn(post.getCategory() != null ? post.getCategory().getNameEn() : null)
+                .categoryNameAr(post.getCategory() != null ? post.getCategory().getNameAr() : null)
+                .subCategoryNameEn(post.getSubCategory() != null ? post.getSubCategory().getNameEn() : null)
+                .subCategoryNameAr(post.getSubCategory() != null ? post.getSubCategory().getNameAr() : null)
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
+
+    private RelatedEventSummary mapToEventSummary(Event event) {
+        return RelatedEventSummary.builder()
+                .id(event.getId())
+                .titleEn(event.getTitleEn())
+                .titleAr(event.getTitleAr())
+                .descriptionEn(event.getDescriptionEn())
+                .descriptionAr(event.getDescriptionAr())
+                .location(event.getLocation())
+                .imageUrl(event.getCoverImageUrl())
+                .eventDate(event.getEventDate())
+                .build();
+    }
+}
@@ -3,8 +3,8 @@ package io.mawhebty.services;
 import io.mawhebty.enums.ArticleStatusEnum;
 import io.mawhebty.enums.SavedItemTypeEnum;
 import io.mawhebty.exceptions.BadDataException;
-import io.mawhebty.exceptions.ResourceNotFoundException;
 import io.mawhebty.models.*;
+import io.mawhebty.projections.OwnerProfileProjection;
 import io.mawhebty.repository.*;
 import io.mawhebty.support.MessageService;
 import lombok.RequiredArgsConstructor;
@@ -32,8 +32,9 @@ public class SavedItemService {
     private final EventRepository eventRepository;
     private final ArticleRepository articleRepository;
     private final MessageService messageService;
-    private final UserProfileService userProfileService;
-    private final SavedItemTypeRepository savedItemTypeRepository;
+    private final OwnerProfileLoader ownerProfileLoader;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final PostLikeCounter postLikeCounter;
 
 
     @Transactional(readOnly = true)
@@ -93,8 +94,7 @@ public class SavedItemService {
         // Validate item exists based on type
         validateItemExists(itemType, itemId);
 
-        SavedItemType type= this.savedItemTypeRepository.findById(itemType.getValue())
-                .orElseThrow(()-> new ResourceNotFoundException("Item type not found"));
+        SavedItemType type= this.referenceDataRegistry.savedItemType(itemType);
 
         // Create saved item
         SavedItem savedItem = SavedItem.builder()
@@ -166,12 +166,17 @@ public class SavedItemService {
     }
 
     private List<Map<String, Object>> mapToPostResponse(Page<SavedItem> savedItems) {
+        Map<Long, OwnerProfileProjection> owners = ownerProfileLoader.loadByUserIds(
+                savedItems.getContent().stream()
+                        .map(savedItem -> savedItem.getPost().getOwnerUser().getId())
+                        .collect(Collectors.toSet()));
+
         return savedItems.getContent().stream().map(savedItem -> {
             Post post = savedItem.getPost();
             Map<String, Object> postMap = new HashMap<>();
             postMap.put("id", post.getId());
 
-            postMap.put("owner", this.getOwnerInfo(post.getOwnerUser()));
+            postMap.put("owner", this.getOwnerInfo(post.getOwnerUser().getId(), owners));
 
             postMap.put("title", post.getTitle());
             postMap.put("caption", post.getCaption());
@@ -183,8 +188,8 @@ public class SavedItemService {
             postMap.put("sub_category_name", post.getSubCategory()!=null?
                     ("en".equals(LocaleContextHolder.getLocale().getLanguage())?
                             post.getSubCategory().getNameEn(): post.getSubCategory().getNameAr()): null);          
-            postMap.put("is_saved", false); //TODO: Placeholder, implement logic to check if saved
-            postMap.put("likes_count", 0); // TODO: Placeholder, implement logic to get likes count
+            postMap.put("is_saved", true); // listed from the user's own saved items
+            postMap.put("likes_count", Math.toIntExact(postLikeCounter.likesCount(post)));
 
             return postMap;
         }).collect(Collectors.toList());
@@ -231,30 +236,20 @@ public class SavedItemService {
         }).collect(Collectors.toList());
     }
 
-    private Map<String, Object> getOwnerInfo(User user) {
-        Map<String, Object> owner = new HashMap<>();
-        owner.put("id", user.getId());
-
-        Object profile= this.userProfileService.getUserProfile(user);
-        if (profile instanceof TalentProfile talentProfile) {
-            owner.put("first_name", talentProfile.getFirstName());
-            owner.put("last_name", talentProfile.getLastName());
-            owner.put("image_url", talentProfile.getProfilePicture());
-        }else if (profile instanceof IndividualResearcherProfile individualResearcherProfile){
-            owner.put("first_name", individualResearcherProfile.getFirstName());
-            owner.put("last_name", individualResearcherProfile.getLastName());
-            owner.put("image_url", individualResearcherProfile.getProfilePicture());
-        }else if (profile instanceof CompanyResearcherProfile companyResearcherProfile){
-            owner.put("first_name", companyResearcherProfile.getCompanyName());
-            owner.put("image_url", companyResearcherProfile.getProfilePicture());
-        }else {
-            String s = profile != null ? profile.getClass().getName() : "null";
+    private Map<String, Object> getOwnerInfo(Long ownerId, Map<Long, OwnerProfileProjection> owners) {
+        OwnerProfileProjection profile = owners.get(ownerId);
+        if (profile == null) {
             log.warn(messageService.getMessage("unknown.profile.type",
-                    new Object[]{s}));
+                    new Object[]{"null"}));
             throw new IllegalStateException(messageService.getMessage("unknown.profile.type",
-                    new Object[]{s}));
+                    new Object[]{"null"}));
         }
 
+        Map<String, Object> owner = new HashMap<>();
+        owner.put("id", ownerId);
+        owner.put("first_name", profile.getFirstName());
+        owner.put("last_name", profile.getLastName());
+        owner.put("image_url", profile.getImageUrl());
         return owner;
     }
 
@@ -262,20 +257,17 @@ public class SavedItemService {
     public void setItemReference(Object item, SavedItem savedItem) {
         SavedItemType type;
         if (item instanceof Post postItem) {
-            type= this.savedItemTypeRepository.findById(SavedItemTypeEnum.POST.getValue())
-                    .orElseThrow(()-> new ResourceNotFoundException("Item type not found"));
+            type= this.referenceDataRegistry.savedItemType(SavedItemTypeEnum.POST);
             savedItem.setItemType(type);
             savedItem.setItemId(postItem.getId());
             savedItem.setPost(postItem);
         } else if (item instanceof Event eventItem) {
-            type= this.savedItemTypeRepository.findById(SavedItemTypeEnum.EVENT.getValue())
-                    .orElseThrow(()-> new ResourceNotFoundException("Item type not found"));
+            type= this.referenceDataRegistry.savedItemType(SavedItemTypeEnum.EVENT);
             savedItem.setItemType(type);
             savedItem.setItemId(eventItem.getId());
             savedItem.setEvent(eventItem);
         } else if (item instanceof Article articleItem) {
-            type= this.savedItemTypeRepository.findById(SavedItemTypeEnum.ARTICLE.getValue())
-                    .orElseThrow(()-> new ResourceNotFoundException("Item type not found"));
+            type= this.referenceDataRegistry.savedItemType(SavedItemTypeEnum.ARTICLE);
             savedItem.setItemType(type);
             savedItem.setItemId(articleItem.getId());
             savedItem.setArticle(articleItem);
@@ -0,0 +1,37 @@
+package io.mawhebty.services;
+
+import io.mawhebty.enums.SavedItemTypeEnum;
+import io.mawhebty.repository.SavedItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolve is_saved for a whole page at once (a single item_id IN (...) query per page)
+ */
+@Service
+@RequiredArgsConstructor
+public class SavedStateResolver {
+
+    private final SavedItemRepository savedItemRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    public Set<Long> savedItemIds(Long userId, SavedItemTypeEnum itemType, Collection<Long> itemIds) {
+        if (userId == null || itemIds == null || itemIds.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> ids = itemIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(savedItemRepository.findSavedItemIds(
+                userId, referenceDataRegistry.savedItemType(itemType).getId(), ids));
+    }
+}
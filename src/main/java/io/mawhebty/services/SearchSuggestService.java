@@ -0,0 +1,110 @@
+package io.mawhebty.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.mawhebty.dtos.SearchSuggestionDto;
+import io.mawhebty.enums.PostStatusEnum;
+import io.mawhebty.enums.PostVisibilityEnum;
+import io.mawhebty.repository.SearchSuggestRepository;
+import io.mawhebty.support.SliceQueryExecutor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search-as-you-type suggestions. Results are cached per normalized prefix, and the database
+ * work is bounded by a statement timeout; a query that runs over budget yields no suggestions
+ * rather than a slow response.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchSuggestService {
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_LENGTH = 64;
+
+    private final SearchSuggestRepository searchSuggestRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final SliceQueryExecutor sliceQueryExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${search.suggest.timeout-ms:150}")
+    private long timeoutMs;
+
+    @Value("${search.suggest.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${search.suggest.cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    private Cache<String, List<SearchSuggestionDto>> cache;
+
+    @PostConstruct
+    void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
+
+    public List<SearchSuggestionDto> suggest(String query, int limit) {
+        String prefix = normalizePrefix(query);
+        if (prefix == null) {
+            return List.of();
+        }
+
+        String key = limit + ":" + prefix;
+        List<SearchSuggestionDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<SearchSuggestionDto> suggestions;
+        try {
+            suggestions = fetch(prefix, limit);
+        } catch (DataAccessException e) {
+            // statement_timeout or a transient failure, not worth failing the keystroke for
+            log.warn("Search suggestions for '{}' skipped: {}", prefix, e.getMessage());
+            return List.of();
+        }
+
+        cache.put(key, suggestions);
+        return suggestions;
+    }
+
+    private List<SearchSuggestionDto> fetch(String prefix, int limit) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        return tx.execute(status -> {
+            sliceQueryExecutor.setLocalStatementTimeout(timeoutMs);
+            return List.copyOf(searchSuggestRepository.findSuggestions(
+                    prefix,
+                    referenceDataRegistry.postStatus(PostStatusEnum.PUBLISHED).getId(),
+                    referenceDataRegistry.postVisibility(PostVisibilityEnum.PUBLIC).getId(),
+                    limit));
+        });
+    }
+
+    // collapse whitespace and case so "Foot", "foot " and "FOOT" share one cache entry
+    private String normalizePrefix(String query) {
+        if (query == null) {
+            return null;
+        }
+        String prefix = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (prefix.length() < MIN_PREFIX_LENGTH) {
+            return null;
+        }
+        return prefix.length() > MAX_PREFIX_LENGTH ? prefix.substring(0, MAX_PREFIX_LENGTH) : prefix;
+    }
+}
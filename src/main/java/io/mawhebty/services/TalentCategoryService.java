@@ -2,8 +2,6 @@ package io.mawhebty.services;
 
 import io.mawhebty.dtos.requests.InternalServices.CreateTalentCategoryRequest;
 import io.mawhebty.dtos.requests.InternalServices.CreateTalentSubCategoryRequest;
-import io.mawhebty.dtos.responses.TalentCategoryResponse;
-import io.mawhebty.dtos.responses.TalentSubCategoryResponse;
 import io.mawhebty.exceptions.BadDataException;
 import io.mawhebty.models.ParticipationType;
 import io.mawhebty.models.TalentCategory;
@@ -17,8 +15,6 @@ import io.mawhebty.support.MessageService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +25,7 @@ public class TalentCategoryService {
     private final TalentCategoryFormKeysRepository formKeysRepository;
     private final ParticipationTypeRepository participationTypeRepository;
     private final MessageService messageService; // Added
+    private final CategoryTreeSnapshot categoryTreeSnapshot;
 
     @Transactional
     public void createCategory(CreateTalentCategoryRequest request) {
@@ -65,6 +62,7 @@ public class TalentCategoryService {
                 .build();
 
         talentCategoryRepository.save(category);
+        categoryTreeSnapshot.rebuildAfterCommit();
     }
 
     @Transactional
@@ -90,6 +88,7 @@ public class TalentCategoryService {
                 .build();
 
         talentSubCategoryRepository.save(subCategory);
+        categoryTreeSnapshot.rebuildAfterCommit();
     }
 
     @Transactional
@@ -146,26 +145,4 @@ public class TalentCategoryService {
 
         formKeysRepository.save(formKey);
     }
-
-    public List<TalentCategoryResponse> fetchAllCategories(){
-        return talentCategoryRepository.findAll()
-                .stream().map(tc-> TalentCategoryResponse.builder()
-                        .id(tc.getPartnerId())
-                        .nameAr(tc.getNameAr())
-                        .nameEn(tc.getNameEn())
-                        .participationTypeId(tc.getParticipationType().getId())
-                        .imageUrl(tc.getImageUrl())
-                        .subCategories(
-                                tc.getTalentSubCategories()
-                                        .stream()
-                                        .map(tsc -> TalentSubCategoryResponse.builder()
-                                                .id(tsc.getPartnerId())
-                                                .nameEn(tsc.getNameEn())
-                                                .nameAr(tsc.getNameAr())
-                                                .build())
-                                        .collect(Collectors.toList())
-                        )
-                        .build())
-                .collect(Collectors.toList());
-    }
 }
\ No newline at end of file
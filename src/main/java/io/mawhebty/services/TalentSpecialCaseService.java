@@ -5,11 +5,9 @@ import io.mawhebty.dtos.requests.TalentSpecialCaseRequest;
 import io.mawhebty.enums.MediaModerationStatusEnum;
 import io.mawhebty.enums.ModerationTypeEnum;
 import io.mawhebty.exceptions.BadDataException;
-import io.mawhebty.exceptions.ResourceNotFoundException;
 import io.mawhebty.exceptions.UserNotFoundException;
 import io.mawhebty.models.*;
 import io.mawhebty.repository.MediaModerationRepository;
-import io.mawhebty.repository.MediaModerationStatusRepository;
 import io.mawhebty.repository.TalentSpecialCaseRepository;
 import io.mawhebty.repository.UserRepository;
 import io.mawhebty.support.MessageService;
@@ -24,7 +22,7 @@ public class TalentSpecialCaseService {
     private final S3Service s3Service;
     private final ModerationQueueService moderationQueueService;
     private final MediaModerationRepository mediaModerationRepository;
-    private final MediaModerationStatusRepository mediaModerationStatusRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final UserRepository userRepository;
     private final MessageService messageService; // Added
 
@@ -71,11 +69,7 @@ public class TalentSpecialCaseService {
 
         // in case the message successfully delivered to sqs, create moderation record
         if(messageWasSent){
-            MediaModerationStatus status= mediaModerationStatusRepository.findByName(MediaModerationStatusEnum.PENDING.getName())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            messageService.getMessage("media.moderation.status.not.found",
-                                    new Object[]{MediaModerationStatusEnum.PENDING.getName()})
-                    ));
+            MediaModerationStatus status= referenceDataRegistry.mediaModerationStatus(MediaModerationStatusEnum.PENDING);
 
             MediaModeration savedModeration = mediaModerationRepository.save(MediaModeration.builder()
                     .status(status)
@@ -87,11 +81,7 @@ public class TalentSpecialCaseService {
     }
 
     public void moderateSpecialCase(ModerateUserRequestDto request){
-        MediaModerationStatus pendingStatus= mediaModerationStatusRepository.findByName(MediaModerationStatusEnum.PENDING.getName())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        messageService.getMessage("media.moderation.status.not.found",
-                                new Object[]{MediaModerationStatusEnum.PENDING.getName()})
-                ));
+        MediaModerationStatus pendingStatus= referenceDataRegistry.mediaModerationStatus(MediaModerationStatusEnum.PENDING);
 
         MediaModeration media= mediaModerationRepository.findById(request.getMediaId())
                 .orElseThrow(() -> new BadDataException(
@@ -107,18 +97,10 @@ public class TalentSpecialCaseService {
         }
 
         if("approved".equals(request.getDecision())){
-            MediaModerationStatus approvedStatus= mediaModerationStatusRepository.findByName(MediaModerationStatusEnum.APPROVED.getName())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            messageService.getMessage("media.moderation.status.not.found",
-                                    new Object[]{MediaModerationStatusEnum.APPROVED.getName()})
-                    ));
+            MediaModerationStatus approvedStatus= referenceDataRegistry.mediaModerationStatus(MediaModerationStatusEnum.APPROVED);
             media.setStatus(approvedStatus);
         }else if("rejected".equals(request.getDecision()) && request.getReason() != null && !request.getReason().isBlank()){
-            MediaModerationStatus rejectedStatus= mediaModerationStatusRepository.findByName(MediaModerationStatusEnum.REJECTED.getName())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            messageService.getMessage("media.moderation.status.not.found",
-                                    new Object[]{MediaModerationStatusEnum.REJECTED.getName()})
-                    ));
+            MediaModerationStatus rejectedStatus= referenceDataRegistry.mediaModerationStatus(MediaModerationStatusEnum.REJECTED);
             media.setStatus(rejectedStatus);
             media.setReason(request.getReason());
         }else {
@@ -4,24 +4,45 @@ import io.mawhebty.enums.ArticleStatusEnum;
 import io.mawhebty.enums.EventStatus;
 import io.mawhebty.enums.PostStatusEnum;
 import io.mawhebty.enums.PostVisibilityEnum;
+import io.mawhebty.enums.SavedItemTypeEnum;
 import io.mawhebty.exceptions.UserNotFoundException;
 import io.mawhebty.models.*;
+import io.mawhebty.projections.ArticleCard;
+import io.mawhebty.projections.EventCard;
+import io.mawhebty.projections.OwnerProfileProjection;
+import io.mawhebty.projections.PostCard;
 import io.mawhebty.repository.*;
 import io.mawhebty.repository.specification.ArticleSpecification;
 import io.mawhebty.repository.specification.EventSpecification;
+import io.mawhebty.repository.specification.KeysetSpecification;
 import io.mawhebty.repository.specification.PostSpecification;
+import io.mawhebty.support.CardSelection;
+import io.mawhebty.support.HomeSectionExecutor;
+import io.mawhebty.support.KeysetCursor;
+import io.mawhebty.support.KeysetPage;
 import io.mawhebty.support.MessageService;
+import io.mawhebty.support.SliceQueryExecutor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,117 +50,252 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserHomeService {
 
-    private final PostRepository postRepository;
-    private final EventRepository eventRepository;
-    private final ArticleRepository articleRepository;
     private final UserRepository userRepository;
     private final MessageService messageService;
     private final UserProfileService userProfileService;
-     private final PostStatusRepository postStatusRepository;
-    private final PostVisibilityRepository postVisibilityRepository;
+    private final OwnerProfileLoader ownerProfileLoader;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final SavedStateResolver savedStateResolver;
+    private final PostLikeCounter postLikeCounter;
 
-    @Transactional(readOnly = true)
-    public Map<String, Object> getHomeSections(Long userId, Pageable pageable, String search) {
+    private final PlatformTransactionManager transactionManager;
+    private final HomeSectionExecutor homeSectionExecutor;
+    private final SliceQueryExecutor sliceQueryExecutor;
+
+    @Value("${home.sections.timeout-ms:800}")
+    private long sectionsTimeoutMs;
+
+    // newest first in every section, id breaks ties so the keyset order is total
+    private static final Sort SECTION_SORT = Sort.by("createdAt").descending().and(Sort.by("id").descending());
+
+    public Map<String, Object> getHomeSections(Long userId, Pageable pageable, String search, String cursor) {
 
         Map<String, Object> result = new HashMap<>();
 
-        User user= this.userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(
-                messageService.getMessage("user.not.found.id",
-                        new Object[]{userId})
-        ));
-
-        Object profile= this.userProfileService.getUserProfile(user);
-        TalentCategory category;
-        TalentSubCategory subCategory;
-        if (profile instanceof TalentProfile tp) {
-            category= tp.getCategory();
-            subCategory= tp.getSubCategory();
-        }else if (profile instanceof ResearcherProfile rp){
-            category= rp.getCategory();
-            subCategory= rp.getSubCategory();
-        }else {
-            throw new IllegalStateException("No profile found for this user");
-        }
+        // category and subcategory of the user's profile, read in a short transaction of its own
+        Integer[] userCategory = readOnlyTransaction().execute(status -> {
+            User user= this.userRepository.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException(
+                    messageService.getMessage("user.not.found.id",
+                            new Object[]{userId})
+            ));
+
+            Object profile= this.userProfileService.getUserProfile(user);
+            TalentCategory category;
+            TalentSubCategory subCategory;
+            if (profile instanceof TalentProfile tp) {
+                category= tp.getCategory();
+                subCategory= tp.getSubCategory();
+            }else if (profile instanceof ResearcherProfile rp){
+                category= rp.getCategory();
+                subCategory= rp.getSubCategory();
+            }else {
+                throw new IllegalStateException("No profile found for this user");
+            }
+            return new Integer[]{category.getId(), subCategory != null ? subCategory.getId() : null};
+        });
+        Integer categoryId = userCategory[0];
+        Integer subCategoryId = userCategory[1];
 
         // Get PUBLISHED status
-        PostStatus publishedStatus = postStatusRepository.findByName(PostStatusEnum.PUBLISHED.getName())
-                .orElseThrow(() -> new RuntimeException("Published status not found"));
+        PostStatus publishedStatus = referenceDataRegistry.postStatus(PostStatusEnum.PUBLISHED);
         
         // Get PUBLIC visibility
-        PostVisibility publicVisibility = postVisibilityRepository.findByName(PostVisibilityEnum.PUBLIC.getName())
-                .orElseThrow(() -> new RuntimeException("Public visibility not found"));
+        PostVisibility publicVisibility = referenceDataRegistry.postVisibility(PostVisibilityEnum.PUBLIC);
 
         String normalizedSearch= (search == null || search.isBlank()) ? null : search.trim();
 
+        // posts, events, articles positions; a null position means that section is exhausted
+        List<KeysetCursor> positions = (cursor == null || cursor.isBlank())
+                ? Arrays.asList(KeysetCursor.START, KeysetCursor.START, KeysetCursor.START)
+                : KeysetCursor.decodeAll(cursor, 3);
+        KeysetCursor postsAfter = positions.get(0);
+        KeysetCursor eventsAfter = positions.get(1);
+        KeysetCursor articlesAfter = positions.get(2);
+
 
         // Build specification with mandatory filters
         Specification<Post> spec = Specification.allOf(
                 PostSpecification.hasStatus(publishedStatus),
                 PostSpecification.hasVisibility(publicVisibility),
-                PostSpecification.hasCategory(category.getId()),
-                PostSpecification.hasSubCategory(subCategory!=null? subCategory.getId(): null),
+                PostSpecification.hasCategory(categoryId),
+                PostSpecification.hasSubCategory(subCategoryId),
                 PostSpecification.hasNoOwner(userId),
-                PostSpecification.search(normalizedSearch)
+                PostSpecification.search(normalizedSearch),
+                PostSpecification.createdAfter(postsAfter, false)
         );
 
         Specification<Event> eventSpec = Specification.allOf(
             EventSpecification.hasNoStatus(EventStatus.CANCELLED),
-            EventSpecification.hasCategory(category.getId()),
-            EventSpecification.hasSubCategory(subCategory != null ? subCategory.getId() : null),
-            EventSpecification.search(normalizedSearch)
+            EventSpecification.hasCategory(categoryId),
+            EventSpecification.hasSubCategory(subCategoryId),
+            EventSpecification.search(normalizedSearch),
+            KeysetSpecification.after("createdAt", eventsAfter, false)
         );
 
         Specification<Article> articleSpec = Specification.allOf(
-            ArticleSpecification.hasCategory(category.getId()),
-            ArticleSpecification.hasSubCategory(subCategory != null ? subCategory.getId() : null),
+            ArticleSpecification.hasCategory(categoryId),
+            ArticleSpecification.hasSubCategory(subCategoryId),
             ArticleSpecification.hasStatus(ArticleStatusEnum.PUBLISHED),
-            ArticleSpecification.search(normalizedSearch)
+            ArticleSpecification.search(normalizedSearch),
+            KeysetSpecification.after("createdAt", articlesAfter, false)
         );
 
+        int size = pageable.getPageSize();
 
-        Page<Post> posts = postRepository.findAll(spec, pageable);
-        result.put("posts", mapToPostResponse(posts.getContent()));
+        // The three sections run concurrently, each on its own read-only transaction (and connection)
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionsTimeoutMs);
+
+        Locale locale = LocaleContextHolder.getLocale();
+        CardSelection<Post> postColumns = PostCard.columns(locale);
+        CardSelection<Event> eventColumns = EventCard.columns(locale);
+        CardSelection<Article> articleColumns = ArticleCard.columns(locale);
+        Pageable section = PageRequest.of(0, size, SECTION_SORT);
 
-        Page<Event> events = eventRepository.findAll(eventSpec, pageable);
-        result.put("events", mapToEventResponse(events.getContent()));
+        CompletableFuture<SectionResult> postsFuture = submitSection(postsAfter, deadline, () -> {
+            Slice<PostCard> posts = sliceQueryExecutor.findSlice(Post.class, spec, section, PostCard.class, postColumns);
+            Set<Long> savedPostIds = savedStateResolver.savedItemIds(userId, SavedItemTypeEnum.POST,
+                    posts.getContent().stream().map(PostCard::getId).toList());
+            return new SectionResult(mapToPostResponse(posts.getContent(), savedPostIds),
+                    new KeysetPage<>(posts.getContent(), posts.hasNext()).nextCursor(PostCard::getCreatedAt, PostCard::getId));
+        });
+        CompletableFuture<SectionResult> eventsFuture = submitSection(eventsAfter, deadline, () -> {
+            Slice<EventCard> events = sliceQueryExecutor.findSlice(Event.class, eventSpec, section, EventCard.class, eventColumns);
+            return new SectionResult(mapToEventResponse(events.getContent()),
+                    new KeysetPage<>(events.getContent(), events.hasNext()).nextCursor(EventCard::getCreatedAt, EventCard::getId));
+        });
+        CompletableFuture<SectionResult> articlesFuture = submitSection(articlesAfter, deadline, () -> {
+            Slice<ArticleCard> articles = sliceQueryExecutor.findSlice(Article.class, articleSpec, section, ArticleCard.class, articleColumns);
+            return new SectionResult(mapToArticleResponse(articles.getContent()),
+                    new KeysetPage<>(articles.getContent(), articles.hasNext()).nextCursor(ArticleCard::getCreatedAt, ArticleCard::getId));
+        });
 
+        SectionResult posts = awaitSection("posts", postsFuture, postsAfter, deadline);
+        SectionResult events = awaitSection("events", eventsFuture, eventsAfter, deadline);
+        SectionResult articles = awaitSection("articles", articlesFuture, articlesAfter, deadline);
 
-        Page<Article> articles = articleRepository.findAll(articleSpec, pageable);
-        result.put("articles", mapToArticleResponse(articles.getContent()));
+        result.put("posts", posts.getItems());
+        result.put("events", events.getItems());
+        result.put("articles", articles.getItems());
+        result.put("section_timings", List.of(posts.timing("posts"), events.timing("events"), articles.timing("articles")));
+
+        List<KeysetCursor> next = Arrays.asList(posts.getNext(), events.getNext(), articles.getNext());
+        if (next.stream().anyMatch(Objects::nonNull)) {
+            result.put("next_cursor", KeysetCursor.encodeAll(next));
+        }
 
         return result;
     }
 
-    private List<Map<String, Object>> mapToPostResponse(List<Post> posts) {
+    private CompletableFuture<SectionResult> submitSection(KeysetCursor after, long deadline,
+                                                           Supplier<SectionResult> query) {
+        if (after == null) {
+            // section was exhausted by a previous call
+            return CompletableFuture.completedFuture(new SectionResult(List.of(), null));
+        }
+        TransactionTemplate transaction = readOnlyTransaction();
+
+        return homeSectionExecutor.submit(() -> {
+            long start = System.nanoTime();
+            // a section that only got a thread (or ran on the caller) once the budget was spent is skipped
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - start);
+            if (remainingMs <= 0) {
+                return timedOut(after);
+            }
+            try {
+                SectionResult section = transaction.execute(status -> {
+                    // the database cancels any statement of this section that would outlive the budget
+                    sliceQueryExecutor.setLocalStatementTimeout(remainingMs);
+                    return query.get();
+                });
+                section.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return section;
+            } catch (QueryTimeoutException | jakarta.persistence.QueryTimeoutException e) {
+                return timedOut(after);
+            }
+        });
+    }
+
+    private SectionResult awaitSection(String name, CompletableFuture<SectionResult> future,
+                                       KeysetCursor after, long deadline) {
+        try {
+            SectionResult section = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (section.isTimedOut()) {
+                log.warn("Home section {} timed out after {} ms", name, sectionsTimeoutMs);
+            }
+            return section;
+        } catch (TimeoutException e) {
+            // the section's own statement_timeout stops its query shortly, its late result is dropped
+            return timedOut(after);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // keeps the section at the same position so the next call retries it
+    private SectionResult timedOut(KeysetCursor after) {
+        SectionResult timedOut = new SectionResult(List.of(), after);
+        timedOut.setDurationMs(sectionsTimeoutMs);
+        timedOut.setTimedOut(true);
+        return timedOut;
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+
+    @Getter
+    @Setter
+    @RequiredArgsConstructor
+    private static class SectionResult {
+        private final List<Map<String, Object>> items;
+        private final KeysetCursor next;
+        private long durationMs;
+        private boolean timedOut;
+
+        Map<String, Object> timing(String section) {
+            Map<String, Object> timing = new HashMap<>();
+            timing.put("section", section);
+            timing.put("duration_ms", durationMs);
+            timing.put("timed_out", timedOut);
+            return timing;
+        }
+    }
+
+    private List<Map<String, Object>> mapToPostResponse(List<PostCard> posts, Set<Long> savedPostIds) {
+        Map<Long, OwnerProfileProjection> owners = ownerProfileLoader.loadByUserIds(
+                posts.stream().map(PostCard::getOwnerId).collect(Collectors.toSet()));
+
         return posts.stream().map(post -> {
             Map<String, Object> postMap = new HashMap<>();
             postMap.put("id", post.getId());
-            postMap.put("owner", this.getOwnerInfo(post.getOwnerUser()));
+            postMap.put("owner", this.getOwnerInfo(post.getOwnerId(), owners));
             postMap.put("title", post.getTitle());
             postMap.put("caption", post.getCaption());
             postMap.put("image_url", post.getMediaUrl());
-            postMap.put("category_name", "en".equals(LocaleContextHolder.getLocale().getLanguage())?
-                    post.getCategory().getNameEn(): post.getCategory().getNameAr());
-            postMap.put("sub_category_name", post.getSubCategory()!=null?
-                    ("en".equals(LocaleContextHolder.getLocale().getLanguage())?
-                            post.getSubCategory().getNameEn(): post.getSubCategory().getNameAr()): null);
+            postMap.put("category_name", post.getCategoryName());
+            postMap.put("sub_category_name", post.getSubCategoryName());
             postMap.put("date", post.getCreatedAt().toString());
-            postMap.put("is_saved", false); //TODO: Placeholder, implement logic to check if saved
-            postMap.put("likes_count", 0); // TODO: Placeholder, implement logic to get likes count
+            postMap.put("is_saved", savedPostIds.contains(post.getId()));
+            postMap.put("likes_count", Math.toIntExact(postLikeCounter.likesCount(post.getId(), post.getLikesCount())));
             return postMap;
         }).collect(Collectors.toList());
     }
 
-    private List<Map<String, Object>> mapToEventResponse(List<Event> events) {
-        Locale locale = LocaleContextHolder.getLocale();
+    private List<Map<String, Object>> mapToEventResponse(List<EventCard> events) {
         return events.stream().map(event -> {
             Map<String, Object> eventMap = new HashMap<>();
             eventMap.put("id", event.getId());
-            eventMap.put("title", "en".equals(locale.getLanguage())?
-                    event.getTitleEn(): event.getTitleAr());
-            eventMap.put("description", "en".equals(locale.getLanguage())?
-                    event.getDescriptionEn(): event.getDescriptionAr());
+            eventMap.put("title", event.getTitle());
+            eventMap.put("description", event.getDescription());
             eventMap.put("location", event.getLocation());
             eventMap.put("location_coordinates", event.getLocationCoordinates());
             eventMap.put("image_url", event.getCoverImageUrl());
@@ -148,48 +304,34 @@ public class UserHomeService {
         }).collect(Collectors.toList());
     }
 
-    private List<Map<String, Object>> mapToArticleResponse(List<Article> articles) {
-        Locale locale = LocaleContextHolder.getLocale();
+    private List<Map<String, Object>> mapToArticleResponse(List<ArticleCard> articles) {
         return articles.stream().map(article -> {
             Map<String, Object> articleMap = new HashMap<>();
             articleMap.put("id", article.getId());
-            articleMap.put("title", "en".equals(locale.getLanguage())?
-                    article.getTitleEn(): article.getTitleAr());
+            articleMap.put("title", article.getTitle());
             articleMap.put("date", article.getPublishedAt() != null ?
                     article.getPublishedAt().toString() : article.getCreatedAt().toString());
             articleMap.put("image_url", article.getCoverImageUrl());
-            articleMap.put("category_name", "en".equals(locale.getLanguage())?
-                    article.getCategory().getNameEn(): article.getCategory().getNameAr());
-            articleMap.put("sub_category_name", "en".equals(locale.getLanguage())?
-                    article.getSubCategory().getNameEn(): article.getSubCategory().getNameAr());
+            articleMap.put("category_name", article.getCategoryName());
+            articleMap.put("sub_category_name", article.getSubCategoryName());
             return articleMap;
         }).collect(Collectors.toList());
     }
 
-    private Map<String, Object> getOwnerInfo(User user) {
-        Map<String, Object> owner = new HashMap<>();
-        owner.put("id", user.getId());
-
-        Object profile= this.userProfileService.getUserProfile(user);
-        if (profile instanceof TalentProfile talentProfile) {
-            owner.put("first_name", talentProfile.getFirstName());
-            owner.put("last_name", talentProfile.getLastName());
-            owner.put("image_url", talentProfile.getProfilePicture());
-        }else if (profile instanceof IndividualResearcherProfile individualResearcherProfile){
-            owner.put("first_name", individualResearcherProfile.getFirstName());
-            owner.put("last_name", individualResearcherProfile.getLastName());
-            owner.put("image_url", individualResearcherProfile.getProfilePicture());
-        }else if (profile instanceof CompanyResearcherProfile companyResearcherProfile){
-            owner.put("first_name", companyResearcherProfile.getCompanyName());
-            owner.put("image_url", companyResearcherProfile.getProfilePicture());
-        }else {
-            String s = profile != null ? profile.getClass().getName() : "null";
+    private Map<String, Object> getOwnerInfo(Long ownerId, Map<Long, OwnerProfileProjection> owners) {
+        OwnerProfileProjection profile = owners.get(ownerId);
+        if (profile == null) {
             log.warn(messageService.getMessage("unknown.profile.type",
-                    new Object[]{s}));
+                    new Object[]{"null"}));
             throw new IllegalStateException(messageService.getMessage("unknown.profile.type",
-                    new Object[]{s}));
+                    new Object[]{"null"}));
         }
 
+        Map<String, Object> owner = new HashMap<>();
+        owner.put("id", ownerId);
+        owner.put("first_name", profile.getFirstName());
+        owner.put("last_name", profile.getLastName());
+        owner.put("image_url", profile.getImageUrl());
         return owner;
     }
 }
\ No newline at end of file
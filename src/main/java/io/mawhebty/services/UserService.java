@@ -5,10 +5,10 @@ import io.mawhebty.dtos.requests.InternalServices.ModerateUserRequestDto;
 import io.mawhebty.enums.*;
 import io.mawhebty.exceptions.ResourceNotFoundException;
 import io.mawhebty.exceptions.UserNotFoundException;
-import io.mawhebty.exceptions.UserStatusNotFoundException;
 import io.mawhebty.models.*;
 import io.mawhebty.projections.UserProfileProjection;
 import io.mawhebty.repository.*;
+import io.mawhebty.services.auth.AuthSnapshotCache;
 import io.mawhebty.support.MessageService;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
@@ -22,13 +22,11 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final JWTService jwtService;
-    private final UserStatusRepository userStatusRepository;
     private final PostRepository postRepository;
-    private final PostTypeRepository postTypeRepository;
-    private final PostStatusRepository postStatusRepository;
-    private final PostVisibilityRepository visibilityRepository;
     private final MediaModerationRepository mediaModerationRepository;
-    private final MediaModerationStatusRepository mediaModerationStatusRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final RelatedContentCache relatedContentCache;
+    private final AuthSnapshotCache authSnapshotCache;
     private final MessageService messageService;
 
     public Boolean validatePhone(String fullPhone){
@@ -92,18 +90,16 @@ public class UserService {
             throw new IllegalStateException("Can not approve user at current state: "+user.getStatus().getName());
         }
 
-        UserStatus activeStatus = userStatusRepository.findByName(UserStatusEnum.ACTIVE.getName())
-                .orElseThrow(() -> new UserStatusNotFoundException("ACTIVE status not found"));
+        UserStatus activeStatus = referenceDataRegistry.userStatus(UserStatusEnum.ACTIVE);
 
         user.setStatus(activeStatus);
         userRepository.save(user);
+        authSnapshotCache.invalidateAfterCommit(user.getId());
 
         //active first post and media moderation
-        PostStatus published = postStatusRepository.findByName(PostStatusEnum.PUBLISHED.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("PUBLISHED post status not found"));
+        PostStatus published = referenceDataRegistry.postStatus(PostStatusEnum.PUBLISHED);
 
-        PostVisibility publicVisibility = visibilityRepository.findByName(PostVisibilityEnum.PUBLIC.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("PUBLIC visibility not found"));
+        PostVisibility publicVisibility = referenceDataRegistry.postVisibility(PostVisibilityEnum.PUBLIC);
 
         Post userRegisterationPost= postRepository.findByIdAndOwnerUserIdAndTypeId(postId, userId, PostTypeEnum.REGISTRATION_FILE.getId())
                 .orElseThrow(()-> new ResourceNotFoundException(
@@ -114,8 +110,7 @@ public class UserService {
         userRegisterationPost.setVisibility(publicVisibility);
 
         // change media moderation to active
-        MediaModerationStatus approvedStatus= mediaModerationStatusRepository.findByName(MediaModerationStatusEnum.APPROVED.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("APPROVED status not found"));
+        MediaModerationStatus approvedStatus= referenceDataRegistry.mediaModerationStatus(MediaModerationStatusEnum.APPROVED);
 
 
         if(userRegisterationPost.getMediaModeration() == null){
@@ -129,6 +124,7 @@ public class UserService {
         }
 
         this.postRepository.save(userRegisterationPost);
+        relatedContentCache.postStatusChanged(userRegisterationPost.getCategory().getId());
     }
 
     public void rejectUserAccount(ModerateUserRequestDto req) {
@@ -150,14 +146,11 @@ public class UserService {
             );
         }
 
-        UserStatus userRejectedStatus = userStatusRepository.findByName(UserStatusEnum.REJECTED.getName())
-                .orElseThrow(() -> new UserStatusNotFoundException(
-                        messageService.getMessage("status.not.found",
-                                new Object[]{UserStatusEnum.REJECTED.getName()})
-                ));
+        UserStatus userRejectedStatus = referenceDataRegistry.userStatus(UserStatusEnum.REJECTED);
 
         user.setStatus(userRejectedStatus);
         userRepository.save(user);
+        authSnapshotCache.invalidateAfterCommit(user.getId());
 
         Post userRegisterationPost= postRepository.findByIdAndOwnerUserIdAndTypeId(req.getMediaId(), req.getUserId(), PostTypeEnum.REGISTRATION_FILE.getId())
                 .orElseThrow(()-> new ResourceNotFoundException(
@@ -165,19 +158,11 @@ public class UserService {
                                 new Object[]{req.getUserId(), req.getMediaId()})
                 ));
 
-        PostStatus postRejectedStatus = postStatusRepository.findByName(PostStatusEnum.REJECTED.getName())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        messageService.getMessage("post.status.not.found",
-                                new Object[]{PostStatusEnum.REJECTED.getName()})
-                ));
+        PostStatus postRejectedStatus = referenceDataRegistry.postStatus(PostStatusEnum.REJECTED);
 
         userRegisterationPost.setStatus(postRejectedStatus);
 
-        MediaModerationStatus mediaRejectedStatus= mediaModerationStatusRepository.findByName(MediaModerationStatusEnum.REJECTED.getName())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        messageService.getMessage("media.moderation.status.not.found",
-                                new Object[]{MediaModerationStatusEnum.REJECTED.getName()})
-                ));
+        MediaModerationStatus mediaRejectedStatus= referenceDataRegistry.mediaModerationStatus(MediaModerationStatusEnum.REJECTED);
 
         if(userRegisterationPost.getMediaModeration() == null){
             throw new IllegalStateException(
@@ -194,6 +179,7 @@ public class UserService {
         }
 
         this.postRepository.save(userRegisterationPost);
+        relatedContentCache.postStatusChanged(userRegisterationPost.getCategory().getId());
     }
     public FindOrCreateUserDto findOrCreateByEmail(String email){
         boolean isNewUser = false;
@@ -203,8 +189,7 @@ public class UserService {
                 .orElseGet(() -> userRepository.save(User.builder()
                         .isVerified(false)
                         .email(email)
-                        .status(userStatusRepository.findByName(UserStatusEnum.DRAFT.getName())
-                                .orElseThrow(() -> new ResourceNotFoundException("DRAFT status not found")))
+                        .status(referenceDataRegistry.userStatus(UserStatusEnum.DRAFT))
                         .build())
                 );
 
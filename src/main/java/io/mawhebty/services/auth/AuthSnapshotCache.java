@@ -0,0 +1,75 @@
+package io.mawhebty.services.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.mawhebty.repository.UserRepository;
+import io.mawhebty.security.AuthSnapshot;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Auth snapshots by user id, so an authenticated request does not query the user, status and role
+ * on every call. Entries are dropped after a status, role or verification change commits;
+ * the TTL bounds how long a change made outside those paths (e.g. straight in the DB) goes unseen.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthSnapshotCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${auth.snapshot.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${auth.snapshot.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<Long, AuthSnapshot> snapshots;
+
+    @PostConstruct
+    void init() {
+        snapshots = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // null when there is no such user
+    public AuthSnapshot get(Long userId) {
+        if (userId == null) return null;
+
+        AuthSnapshot snapshot = snapshots.getIfPresent(userId);
+        if (snapshot == null) {
+            snapshot = userRepository.findByIdFetchRoleAndStatusAndUserType(userId)
+                    .map(AuthSnapshot::of)
+                    .orElse(null);
+            if (snapshot != null) {
+                snapshots.put(userId, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    // the user's status, role or verified flag changed
+    public void invalidateAfterCommit(Long userId) {
+        if (userId == null) return;
+
+        // dropping it before commit would let a concurrent request cache the old row again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshots.invalidate(userId);
+                }
+            });
+        } else {
+            snapshots.invalidate(userId);
+        }
+    }
+}
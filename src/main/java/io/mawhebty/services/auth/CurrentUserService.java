@@ -1,6 +1,7 @@
 package io.mawhebty.services.auth;
 
 import io.mawhebty.models.User;
+import io.mawhebty.repository.UserRepository;
 import io.mawhebty.security.CustomUserDetails;
 import io.mawhebty.support.MessageService;
 import lombok.RequiredArgsConstructor;
@@ -12,18 +13,28 @@ import org.springframework.stereotype.Service;
 public class CurrentUserService {
 
     private final MessageService messageService; // Added
+    private final UserRepository userRepository;
 
+    // a lazy reference: the user row is only read if the caller touches more than the id
     public User getCurrentUser(Authentication authentication) {
+        return userRepository.getReferenceById(getCurrentUserId(authentication));
+    }
+
+    public Long getCurrentUserId(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalArgumentException(
                     messageService.getMessage("user.not.authenticated")
             );
         }
 
-        return ((CustomUserDetails) authentication.getPrincipal()).getUser();
+        return ((CustomUserDetails) authentication.getPrincipal()).getUserId();
     }
 
-    public Long getCurrentUserId(Authentication authentication) {
-        return getCurrentUser(authentication).getId();
+    // platform user id, or null when the caller is anonymous or not a platform user (e.g. an internal service)
+    public Long findCurrentUserId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details) {
+            return details.getUserId();
+        }
+        return null;
     }
 }
\ No newline at end of file
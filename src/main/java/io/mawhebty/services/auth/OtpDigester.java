@@ -0,0 +1,97 @@
+package io.mawhebty.services.auth;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Digests of one-time codes. A code lives ten minutes and is guarded by an attempt counter, so a
+ * keyed HMAC-SHA256 with a server-side pepper stands in for BCrypt: microseconds instead of tens
+ * of milliseconds per login. Stored values are tagged with their scheme; rows hashed with BCrypt
+ * before the switch still verify until they expire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OtpDigester {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String HMAC_PREFIX = "hmac$";
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${otp.digest.pepper:}")
+    private String pepper;
+
+    private SecretKeySpec pepperKey;
+
+    // Mac is not thread-safe; one keyed instance per thread skips the key setup on every code
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void init() {
+        if (pepper == null || pepper.isBlank()) {
+            log.warn("otp.digest.pepper is not set, new OTP codes are hashed with BCrypt");
+            return;
+        }
+        if (pepper.length() < 32) {
+            log.warn("OTP pepper is too short ({} chars). Minimum recommended is 32.", pepper.length());
+        }
+        pepperKey = new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(pepperKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("OTP digest initialization failed", e);
+            }
+        });
+    }
+
+    // the user id is part of the message, so a digest cannot be replayed against another account
+    public String digest(Long userId, String code) {
+        if (pepperKey == null) {
+            return passwordEncoder.encode(code);
+        }
+        return HMAC_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(hmac(userId, code));
+    }
+
+    public boolean matches(Long userId, String code, String stored) {
+        if (code == null || stored == null) {
+            return false;
+        }
+        if (!stored.startsWith(HMAC_PREFIX)) {
+            // BCrypt row from before the HMAC digests
+            return passwordEncoder.matches(code, stored);
+        }
+        if (pepperKey == null) {
+            log.warn("HMAC OTP digest found but otp.digest.pepper is not set");
+            return false;
+        }
+
+        byte[] expected;
+        try {
+            expected = Base64.getUrlDecoder().decode(stored.substring(HMAC_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // constant time, a mismatch does not leak how many leading bytes were right
+        return MessageDigest.isEqual(expected, hmac(userId, code));
+    }
+
+    // doFinal resets the Mac, so the thread's instance is ready for the next code
+    private byte[] hmac(Long userId, String code) {
+        return macs.get().doFinal((userId + ":" + code).getBytes(StandardCharsets.UTF_8));
+    }
+}
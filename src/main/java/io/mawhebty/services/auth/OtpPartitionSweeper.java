@@ -0,0 +1,72 @@
+package io.mawhebty.services.auth;
+
+import io.mawhebty.repository.UserOtpRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Keeps the day partitions of user_otp rolling: the coming days are created ahead of time and
+ * days whose codes all expired are dropped as whole partitions, so expired and used codes never
+ * pile up and are never deleted row by row. The work itself is user_otp_maintain_partitions.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OtpPartitionSweeper {
+
+    private final UserOtpRepository userOtpRepository;
+
+    @Value("${otp.partitions.days-ahead:7}")
+    private int daysAhead;
+
+    @Value("${otp.partitions.retain-days:1}")
+    private int retainDays;
+
+    @Value("${otp.partitions.sweep-interval-minutes:60}")
+    private long sweepIntervalMinutes;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @PostConstruct
+    void init() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("otp-partitions-");
+        scheduler.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    // first sweep right away, then on the interval
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly, Duration.ofMinutes(sweepIntervalMinutes));
+    }
+
+    public void sweep() {
+        int dropped = userOtpRepository.maintainPartitions(daysAhead, retainDays);
+        if (dropped > 0) {
+            log.info("Expired user_otp partitions dropped: {}", dropped);
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            log.warn("Maintaining user_otp partitions failed, retrying on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package io.mawhebty.services.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import io.mawhebty.models.RefreshToken;
+import io.mawhebty.repository.RefreshTokenRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Refresh-token families and their revocation state. Every refresh token has its own jti and
+ * belongs to the family started at login; a refresh rotates the jti within the family, and
+ * presenting an already rotated jti again revokes the whole family.
+ * Revocation checks run per request: a Bloom filter of revoked family ids answers "not revoked"
+ * from memory, only a possible hit is confirmed against the table and kept in a bounded cache.
+ * Revocations made by other instances reach the filter through a short poll.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    private static final Funnel<UUID> UUID_FUNNEL = (id, sink) ->
+            sink.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+
+    // overlap between two polls, covers commit delays and clock drift between instances
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refreshExpiration}")
+    private Long refreshTokenExpiration;
+
+    @Value("${auth.refresh-tokens.bloom.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Value("${auth.refresh-tokens.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${auth.refresh-tokens.revoked-cache.max-size:10000}")
+    private long revokedCacheMaxSize;
+
+    @Value("${auth.refresh-tokens.revocation-poll-ms:5000}")
+    private long revocationPollMs;
+
+    @Value("${auth.refresh-tokens.purge-interval-minutes:60}")
+    private long purgeIntervalMinutes;
+
+    private volatile BloomFilter<UUID> revokedFamilies;
+
+    // confirmed answers for family ids the filter flagged, true when revoked
+    private Cache<UUID, Boolean> confirmed;
+
+    private volatile LocalDateTime lastPoll;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @PostConstruct
+    void init() {
+        confirmed = CacheBuilder.newBuilder()
+                .maximumSize(revokedCacheMaxSize)
+                .build();
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("refresh-tokens-");
+        scheduler.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        filter();
+        scheduler.scheduleWithFixedDelay(this::pollQuietly, Duration.ofMillis(revocationPollMs));
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, Duration.ofMinutes(purgeIntervalMinutes));
+    }
+
+    // ========== ISSUANCE AND ROTATION ==========
+
+    // first token of a new family, at login or registration
+    public IssuedRefreshToken startFamily(Long userId) {
+        return issue(UUID.randomUUID(), userId);
+    }
+
+    /**
+     * Exchanges the presented token for its successor in the same family. Empty when the family
+     * is revoked, or when the token was already rotated: that is a replay, and the family goes.
+     */
+    @Transactional
+    public Optional<IssuedRefreshToken> rotate(UUID jti, UUID familyId, Long userId) {
+        if (isFamilyRevoked(familyId)) {
+            return Optional.empty();
+        }
+        if (refreshTokenRepository.markRotated(jti, familyId, userId, LocalDateTime.now()) == 1) {
+            return Optional.of(issue(familyId, userId));
+        }
+
+        log.warn("Refresh token {} of user {} presented again, revoking family {}", jti, userId, familyId);
+        revokeFamily(familyId);
+        return Optional.empty();
+    }
+
+    public void revokeFamily(UUID familyId) {
+        refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+        filter().put(familyId);
+
+        // confirming before commit would let a concurrent check cache "not revoked"
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    confirmed.put(familyId, true);
+                }
+            });
+        } else {
+            confirmed.put(familyId, true);
+        }
+    }
+
+    // ========== REVOCATION CHECK ==========
+
+    public boolean isFamilyRevoked(UUID familyId) {
+        if (familyId == null || !filter().mightContain(familyId)) {
+            return false;
+        }
+        try {
+            return confirmed.get(familyId, () -> refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNotNull(familyId));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Checking revocation of family " + familyId + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the revoked families that still have live tokens, so families
+     * whose tokens all expired drop out and the false-positive rate stays at its target.
+     */
+    public synchronized void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> familyIds = refreshTokenRepository.findLiveRevokedFamilyIds(now);
+
+        BloomFilter<UUID> filter = BloomFilter.create(UUID_FUNNEL,
+                Math.max(expectedRevocations, familyIds.size() * 2), falsePositiveRate);
+        familyIds.forEach(filter::put);
+
+        this.revokedFamilies = filter;
+        this.lastPoll = now;
+        confirmed.invalidateAll();
+        log.info("Revoked refresh-token families loaded: {}", familyIds.size());
+    }
+
+    // picks up families revoked by other instances since the last poll
+    public void poll() {
+        BloomFilter<UUID> filter = filter();
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> familyIds = refreshTokenRepository.findFamilyIdsRevokedSince(lastPoll.minus(POLL_OVERLAP), now);
+        for (UUID familyId : familyIds) {
+            filter.put(familyId);
+            confirmed.put(familyId, true);
+        }
+        lastPoll = now;
+
+        if (filter.approximateElementCount() > expectedRevocations) {
+            reload();
+        }
+    }
+
+    private IssuedRefreshToken issue(UUID familyId, Long userId) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(refreshTokenExpiration);
+        RefreshToken token = RefreshToken.builder()
+                .jti(UUID.randomUUID())
+                .familyId(familyId)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .build();
+        refreshTokenRepository.save(token);
+        return new IssuedRefreshToken(token.getJti(), familyId, expiresAt);
+    }
+
+    // tokens can be checked before ApplicationReadyEvent, so load on first use as well
+    private BloomFilter<UUID> filter() {
+        BloomFilter<UUID> current = revokedFamilies;
+        if (current == null) {
+            synchronized (this) {
+                if (revokedFamilies == null) {
+                    reload();
+                }
+                current = revokedFamilies;
+            }
+        }
+        return current;
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Polling revoked refresh-token families failed, retrying on the next run", e);
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+            log.info("Expired refresh tokens purged: {}", purged);
+            reload();
+        } catch (Exception e) {
+            log.warn("Purging expired refresh tokens failed, retrying on the next run", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class IssuedRefreshToken {
+        private final UUID jti;
+        private final UUID familyId;
+        private final LocalDateTime expiresAt;
+    }
+}
@@ -0,0 +1,80 @@
+package io.mawhebty.services.auth;
+
+import io.mawhebty.enums.PermissionEnum;
+import io.mawhebty.enums.UserRoleEnum;
+import io.mawhebty.projections.RolePermissionProjection;
+import io.mawhebty.repository.PermissionRoleRepository;
+import io.mawhebty.security.PermissionMask;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+
+/**
+ * Permission masks per role, indexed by role ordinal, loaded from permission_role once the Flyway
+ * runner has finished; call {@link #refresh()} after changing the table.
+ * A full-access token carries the role's mask. A limited token carries only the role's
+ * read permissions, a fixed set since permission_role has no is_limited flag.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RolePermissionMatrix {
+
+    private static final long LIMITED_PERMISSIONS = PermissionMask.of(EnumSet.of(
+            PermissionEnum.READ_PROFILE,
+            PermissionEnum.READ_FEEDS,
+            PermissionEnum.READ_POSTS,
+            PermissionEnum.SEARCH,
+            PermissionEnum.VIEW_TALENTS,
+            PermissionEnum.VIEW_RESEARCHERS
+    ));
+
+    private final PermissionRoleRepository permissionRoleRepository;
+
+    private volatile long[] fullMasks;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        long[] masks = new long[UserRoleEnum.values().length];
+        for (RolePermissionProjection row : permissionRoleRepository.findAllRolePermissions()) {
+            PermissionEnum permission = PermissionEnum.fromId(row.getPermissionId());
+            if (row.getRole() == null || permission == null) {
+                log.warn("Ignoring unknown permission_role row: role {}, permission {}", row.getRole(), row.getPermissionId());
+                continue;
+            }
+            masks[row.getRole().ordinal()] |= permission.bit();
+        }
+        this.fullMasks = masks;
+        log.info("Role permissions loaded");
+    }
+
+    public long fullMask(UserRoleEnum role) {
+        return role != null ? masks()[role.ordinal()] : 0L;
+    }
+
+    public long limitedMask(UserRoleEnum role) {
+        return fullMask(role) & LIMITED_PERMISSIONS;
+    }
+
+    // tokens can be issued before ApplicationReadyEvent, so load on first use as well
+    private long[] masks() {
+        long[] current = fullMasks;
+        if (current == null) {
+            synchronized (this) {
+                if (fullMasks == null) {
+                    refresh();
+                }
+                current = fullMasks;
+            }
+        }
+        return current;
+    }
+}
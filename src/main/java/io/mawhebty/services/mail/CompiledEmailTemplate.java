@@ -0,0 +1,95 @@
+package io.mawhebty.services.mail;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A template parsed for one locale: the static text, with its message keys already resolved,
+ * split around the slots. Rendering appends the literals and the escaped slot values in turn.
+ */
+final class CompiledEmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String subject;
+    // literals.length == slots.length + 1
+    private final String[] literals;
+    private final int[] slots;
+
+    private CompiledEmailTemplate(String subject, String[] literals, int[] slots) {
+        this.subject = subject;
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * {@code {{name}}} is the slot with that name; any other placeholder is resolved now through
+     * {@code resolveStatic}, which returns null for a placeholder it does not know.
+     */
+    static CompiledEmailTemplate compile(String subject, String source, List<String> slotNames,
+                                         UnaryOperator<String> resolveStatic) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(source.length());
+
+        int from = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, from)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder at " + open);
+            }
+            literal.append(source, from, open);
+            String placeholder = source.substring(open + OPEN.length(), close).trim();
+
+            int slot = slotNames.indexOf(placeholder);
+            if (slot >= 0) {
+                literals.add(literal.toString());
+                slots.add(slot);
+                literal.setLength(0);
+            } else {
+                String value = resolveStatic.apply(placeholder);
+                if (value == null) {
+                    throw new IllegalStateException("Unknown placeholder: " + placeholder);
+                }
+                literal.append(value);
+            }
+            from = close + CLOSE.length();
+        }
+        literal.append(source, from, source.length());
+        literals.add(literal.toString());
+
+        return new CompiledEmailTemplate(subject,
+                literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    String subject() {
+        return subject;
+    }
+
+    // values are user input (names, reasons): markup characters are escaped, the text stays UTF-8
+    void renderTo(StringBuilder out, String[] values) {
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = values[slots[i]];
+            if (value != null) {
+                out.append(HtmlUtils.htmlEscape(value, "UTF-8"));
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    // upper bound of the static part, to size render buffers
+    int literalLength() {
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,56 @@
+package io.mawhebty.services.mail;
+
+import io.mawhebty.enums.EmailOutboxStatus;
+import io.mawhebty.models.EmailOutboxMessage;
+import io.mawhebty.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable queue of outgoing mail. A message is a row saved in the caller's transaction, so it
+ * goes out only if the caller commits and is not lost when a burst outruns the mail server;
+ * {@link EmailOutboxDispatcher} delivers it, woken up as soon as the row is committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
+
+    public void enqueue(String recipient, String subject, String body, boolean html) {
+        emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .html(html)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+
+        // the dispatcher can only see the row once it is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emailOutboxDispatcher.wakeUp();
+                }
+            });
+        } else {
+            emailOutboxDispatcher.wakeUp();
+        }
+    }
+
+    // messages waiting for delivery, including those being retried
+    public long queueDepth() {
+        return emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+    }
+
+    // messages given up on after the last retry
+    public long failedCount() {
+        return emailOutboxRepository.countByStatus(EmailOutboxStatus.FAILED);
+    }
+}
@@ -0,0 +1,223 @@
+package io.mawhebty.services.mail;
+
+import io.mawhebty.enums.EmailOutboxStatus;
+import io.mawhebty.models.EmailOutboxMessage;
+import io.mawhebty.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the email outbox on its own thread. Due messages are claimed in batches and sent over
+ * one authenticated SMTP connection that stays open while there is mail to send, instead of a
+ * connect, STARTTLS and AUTH per message. A failed message is retried with exponential backoff
+ * until max-attempts, then marked FAILED. Sent and failed rows lose their body straight away
+ * and are purged after retain-days.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSenderImpl mailSender;
+
+    @Value("${spring.mail.username}")
+    private String emailSender;
+
+    @Value("${app.name:mawhebty}")
+    private String appName;
+
+    @Value("${mail.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${mail.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    // how long a claimed batch stays invisible to other dispatchers
+    @Value("${mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    // how long SENT and FAILED rows are kept, bodies already cleared, before they are purged
+    @Value("${mail.outbox.retain-days:7}")
+    private long retainDays;
+
+    @Value("${mail.outbox.purge-interval-minutes:60}")
+    private long purgeIntervalMinutes;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    // only touched from the dispatcher thread
+    private Transport transport;
+
+    // a wake-up is already queued on the dispatcher thread
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        if (emailSender == null || emailSender.isBlank()) {
+            log.warn("Email not configured - outbox messages are kept but not dispatched");
+            return;
+        }
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("email-outbox-");
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::dispatchQuietly, Duration.ofMillis(pollIntervalMs));
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, Duration.ofMinutes(purgeIntervalMinutes));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        closeTransport();
+    }
+
+    /**
+     * Runs a dispatch on the dispatcher thread now instead of at the next poll. Wake-ups that
+     * arrive while one is queued are coalesced into it.
+     */
+    public void wakeUp() {
+        if (scheduler == null || !wakeUpPending.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.execute(() -> {
+            wakeUpPending.set(false);
+            dispatchQuietly();
+        });
+    }
+
+    public void dispatch() {
+        List<EmailOutboxMessage> batch;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            batch = emailOutboxRepository.claimDue(batchSize, now.plusSeconds(leaseSeconds), now);
+            for (EmailOutboxMessage message : batch) {
+                deliver(message);
+            }
+        } while (batch.size() == batchSize);
+
+        // nothing left to send, don't hold an idle connection the server will drop anyway
+        closeTransport();
+    }
+
+    private void deliver(EmailOutboxMessage message) {
+        try {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+            helper.setFrom(emailSender, appName);
+            helper.setTo(message.getRecipient());
+            helper.setSubject(message.getSubject());
+            helper.setText(message.getBody(), message.isHtml());
+            mimeMessage.saveChanges();
+
+            transport().sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+            emailOutboxRepository.markSent(message.getId(), EmailOutboxStatus.SENT, LocalDateTime.now());
+            log.debug("Outbox message {} sent to: {}", message.getId(), message.getRecipient());
+
+        } catch (MessagingException | UnsupportedEncodingException e) {
+            // a rejected recipient leaves the connection usable, anything else may have broken it
+            if (!(e instanceof SendFailedException)) {
+                closeTransport();
+            }
+            recordFailure(message, e);
+        }
+    }
+
+    private void recordFailure(EmailOutboxMessage message, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        boolean givingUp = attempts >= maxAttempts;
+
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (givingUp) {
+            emailOutboxRepository.markFailed(message.getId(), EmailOutboxStatus.FAILED, attempts, error, now);
+            log.error("Outbox message {} to {} failed after {} attempts: {}",
+                    message.getId(), message.getRecipient(), attempts, error);
+        } else {
+            emailOutboxRepository.markFailedAttempt(message.getId(), EmailOutboxStatus.PENDING,
+                    attempts, now.plusSeconds(backoffSeconds(attempts)), error, now);
+            log.warn("Outbox message {} to {} failed (attempt {}), retrying: {}",
+                    message.getId(), message.getRecipient(), attempts, error);
+        }
+    }
+
+    // base, 2 x base, 4 x base... capped at backoff-max-seconds
+    private long backoffSeconds(int attempts) {
+        int doublings = Math.min(attempts - 1, 20);
+        return Math.min(backoffMaxSeconds, backoffBaseSeconds << doublings);
+    }
+
+    private Transport transport() throws MessagingException {
+        if (transport == null || !transport.isConnected()) {
+            closeTransport();
+            Transport connected = mailSender.getSession().getTransport(
+                    mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+            connected.connect(mailSender.getHost(), mailSender.getPort(),
+                    mailSender.getUsername(), mailSender.getPassword());
+            transport = connected;
+        }
+        return transport;
+    }
+
+    private void closeTransport() {
+        if (transport == null) return;
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Closing SMTP connection failed: {}", e.getMessage());
+        }
+        transport = null;
+    }
+
+    private void dispatchQuietly() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            log.warn("Dispatching the email outbox failed, retrying on the next run", e);
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = emailOutboxRepository.deleteFinishedBefore(
+                    List.of(EmailOutboxStatus.SENT, EmailOutboxStatus.FAILED), LocalDateTime.now().minusDays(retainDays));
+            log.info("Finished outbox messages purged: {}", purged);
+        } catch (Exception e) {
+            log.warn("Purging the email outbox failed, retrying on the next run", e);
+        }
+    }
+}
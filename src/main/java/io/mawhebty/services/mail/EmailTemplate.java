@@ -0,0 +1,27 @@
+package io.mawhebty.services.mail;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The platform's email templates: an HTML resource under mail/, the message key of its subject
+ * and the names of the slots filled in per message, in the order render takes their values.
+ */
+@Getter
+public enum EmailTemplate {
+    VERIFICATION("mail/verification.html", "email.verification.subject", "code"),
+    WELCOME("mail/welcome.html", "email.welcome.subject", "name"),
+    ACCOUNT_APPROVED("mail/account-approved.html", "email.approved.subject", "name"),
+    ACCOUNT_REJECTED("mail/account-rejected.html", "email.rejected.subject", "reason");
+
+    private final String resource;
+    private final String subjectKey;
+    private final List<String> slots;
+
+    EmailTemplate(String resource, String subjectKey, String... slots) {
+        this.resource = resource;
+        this.subjectKey = subjectKey;
+        this.slots = List.of(slots);
+    }
+}
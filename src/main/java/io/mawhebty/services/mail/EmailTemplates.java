@@ -0,0 +1,94 @@
+package io.mawhebty.services.mail;
+
+import io.mawhebty.support.MessageService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email templates compiled once per template and language, on first use: message keys,
+ * the frontend URL and the text direction are baked into the literals, so rendering a message
+ * only appends literals and the escaped slot values into the calling thread's buffer.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailTemplates {
+
+    private static final String MESSAGE_PREFIX = "msg:";
+    // languages with a messages_<lang> bundle; anything else gets English
+    private static final String ARABIC = "ar";
+    private static final String ENGLISH = "en";
+
+    private final MessageService messageService;
+
+    @Value("${app.frontend.url:http://localhost:3000}")
+    private String frontendUrl;
+
+    private final ConcurrentHashMap<String, CompiledEmailTemplate> compiled = new ConcurrentHashMap<>();
+
+    // reused per thread; only its capacity survives between renders
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    public RenderedEmail render(EmailTemplate template, Locale locale, String... values) {
+        if (values.length != template.getSlots().size()) {
+            throw new IllegalArgumentException(template + " takes " + template.getSlots() + ", got " + values.length + " values");
+        }
+        String language = locale != null && ARABIC.equals(locale.getLanguage()) ? ARABIC : ENGLISH;
+        CompiledEmailTemplate compiledTemplate = compiled.computeIfAbsent(template.name() + '_' + language,
+                key -> compile(template, Locale.forLanguageTag(language)));
+
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(compiledTemplate.literalLength() + 256);
+        compiledTemplate.renderTo(buffer, values);
+        return new RenderedEmail(compiledTemplate.subject(), buffer.toString());
+    }
+
+    private CompiledEmailTemplate compile(EmailTemplate template, Locale locale) {
+        String source;
+        try (InputStream in = new ClassPathResource(template.getResource()).getInputStream()) {
+            source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Email template " + template.getResource() + " could not be read", e);
+        }
+
+        try {
+            return CompiledEmailTemplate.compile(
+                    messageService.getMessage(template.getSubjectKey(), locale, null),
+                    source,
+                    template.getSlots(),
+                    placeholder -> resolveStatic(placeholder, locale));
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Email template " + template.getResource() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private String resolveStatic(String placeholder, Locale locale) {
+        if (placeholder.startsWith(MESSAGE_PREFIX)) {
+            return HtmlUtils.htmlEscape(messageService.getMessage(placeholder.substring(MESSAGE_PREFIX.length()), locale, null), "UTF-8");
+        }
+        return switch (placeholder) {
+            case "lang" -> locale.getLanguage();
+            case "dir" -> ARABIC.equals(locale.getLanguage()) ? "rtl" : "ltr";
+            case "frontendUrl" -> HtmlUtils.htmlEscape(frontendUrl, "UTF-8");
+            default -> null;
+        };
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RenderedEmail {
+        private final String subject;
+        private final String body;
+    }
+}
@@ -0,0 +1,16 @@
+package io.mawhebty.support;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+
+/**
+ * The columns a list card reads, in the order of the card's constructor
+ */
+@FunctionalInterface
+public interface CardSelection<T> {
+
+    List<Selection<?>> columns(Root<T> root, CriteriaBuilder cb);
+}
@@ -0,0 +1,83 @@
+package io.mawhebty.support;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for the platform controllers. The caller passes a validator computed from cheap
+ * version data (updatedAt, counts, in-memory related rings); while the client's If-None-Match or
+ * If-Modified-Since still matches, a 304 goes back before the body is loaded or mapped.
+ */
+@Component
+public class ConditionalGet {
+
+    // the headers CustomLocaleResolver reads the locale from
+    private static final String[] LOCALE_HEADERS = {HttpHeaders.ACCEPT_LANGUAGE, "Language", "lang", "country"};
+
+    @Value("${http.cache.public-max-age-seconds:60}")
+    private long publicMaxAgeSeconds;
+
+    // same response for every user, so nginx / a CDN may keep it for a short while
+    public CacheControl publicCaching() {
+        return CacheControl.maxAge(Duration.ofSeconds(publicMaxAgeSeconds)).cachePublic();
+    }
+
+    // authenticated routes: only the user's own client may keep it, and it revalidates every time
+    public CacheControl privateCaching() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    public <T> ResponseEntity<T> respond(ContentValidator validator, CacheControl cacheControl, Supplier<T> body) {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        boolean notModified = isNotModified(request, validator);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(validator.getEtag())
+                .cacheControl(cacheControl)
+                .varyBy(LOCALE_HEADERS);
+        if (validator.getLastModified() != null) {
+            response.lastModified(validator.getLastModified());
+        }
+        return notModified ? response.build() : response.body(body.get());
+    }
+
+    private boolean isNotModified(HttpServletRequest request, ContentValidator validator) {
+        Enumeration<String> ifNoneMatch = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+            // If-None-Match takes precedence, If-Modified-Since is then ignored
+            while (ifNoneMatch.hasMoreElements()) {
+                for (String tag : ifNoneMatch.nextElement().split(",")) {
+                    tag = tag.trim();
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2);
+                    }
+                    if (tag.equals("*") || tag.equals(validator.getEtag())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        if (validator.getLastModified() == null) return false;
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // HTTP dates have second precision
+        return ifModifiedSince != -1 && validator.getLastModified().getEpochSecond() <= ifModifiedSince / 1000;
+    }
+}
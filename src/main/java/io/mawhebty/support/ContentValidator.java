@@ -0,0 +1,58 @@
+package io.mawhebty.support;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * ETag / Last-Modified pair for a conditional GET. The ETag hashes the version parts together
+ * with the request locale, since the same resource is rendered differently per language.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContentValidator {
+
+    private final String etag;
+    private final Instant lastModified;
+
+    // only when the body depends on nothing but rows stamped with lastModified
+    public static ContentValidator of(LocalDateTime lastModified, Object... versionParts) {
+        return new ContentValidator(
+                etag(lastModified, versionParts),
+                lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant() : null);
+    }
+
+    // ETag only, for bodies that also carry data without a timestamp (e.g. in-memory related items)
+    public static ContentValidator ofParts(Object... versionParts) {
+        return new ContentValidator(etag(versionParts), null);
+    }
+
+    private static String etag(Object... parts) {
+        StringBuilder version = new StringBuilder(LocaleContextHolder.getLocale().toLanguageTag());
+        for (Object part : parts) {
+            if (part instanceof Object[] nested) {
+                for (Object nestedPart : nested) {
+                    version.append('|').append(Objects.toString(nestedPart));
+                }
+            } else {
+                version.append('|').append(Objects.toString(part));
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(version.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.mawhebty.support;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for the home-screen section queries, kept apart from the shared @Async pool.
+ * The request locale is carried over to the worker so section mappers localize as before.
+ */
+@Component
+public class HomeSectionExecutor {
+
+    @Value("${home.sections.executor.pool-size:8}")
+    private int poolSize;
+
+    @Value("${home.sections.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("home-section-");
+        // a saturated pool degrades to running the section on the request thread
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(task -> {
+            LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+            return () -> {
+                LocaleContext previous = LocaleContextHolder.getLocaleContext();
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    task.run();
+                } finally {
+                    LocaleContextHolder.setLocaleContext(previous);
+                }
+            };
+        });
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+}
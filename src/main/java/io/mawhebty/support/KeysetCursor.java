@@ -0,0 +1,98 @@
+package io.mawhebty.support;
+
+import io.mawhebty.exceptions.BadDataException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset position (sort column value + id tiebreaker) handed to clients as next_cursor
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String KEY_SEPARATOR = "|";
+    private static final String SECTION_SEPARATOR = "~";
+    private static final String EXHAUSTED = "-";
+    private static final String FROM_START = "*";
+
+    // position of a list that has not been read yet
+    public static final KeysetCursor START = new KeysetCursor(null, null);
+
+    private final LocalDateTime position;
+    private final Long id;
+
+    public boolean isStart() {
+        return position == null;
+    }
+
+    public String encode() {
+        return toBase64(raw());
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        return fromRaw(fromBase64(cursor));
+    }
+
+    // Several independent positions in one token, a null entry marks an exhausted list
+    public static String encodeAll(List<KeysetCursor> cursors) {
+        List<String> parts = new ArrayList<>(cursors.size());
+        for (KeysetCursor cursor : cursors) {
+            parts.add(cursor == null ? EXHAUSTED : cursor.isStart() ? FROM_START : cursor.raw());
+        }
+        return toBase64(String.join(SECTION_SEPARATOR, parts));
+    }
+
+    public static List<KeysetCursor> decodeAll(String cursor, int count) {
+        String[] parts = fromBase64(cursor).split(SECTION_SEPARATOR, -1);
+        if (parts.length != count) {
+            throw new BadDataException("Invalid cursor");
+        }
+
+        List<KeysetCursor> cursors = new ArrayList<>(count);
+        for (String part : parts) {
+            cursors.add(EXHAUSTED.equals(part) ? null : FROM_START.equals(part) ? START : fromRaw(part));
+        }
+        return cursors;
+    }
+
+    private String raw() {
+        return position + KEY_SEPARATOR + id;
+    }
+
+    private static KeysetCursor fromRaw(String raw) {
+        int idx = raw.lastIndexOf(KEY_SEPARATOR);
+        if (idx <= 0) {
+            throw new BadDataException("Invalid cursor");
+        }
+        try {
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadDataException("Invalid cursor");
+        }
+    }
+
+    private static String toBase64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String fromBase64(String value) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadDataException("Invalid cursor");
+        }
+    }
+}
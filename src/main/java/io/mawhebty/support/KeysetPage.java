@@ -0,0 +1,28 @@
+package io.mawhebty.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page: read with LIMIT size + 1 (no OFFSET, no COUNT), the extra row only tells if there is a next page
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final boolean hasNext;
+
+    public KeysetCursor nextCursor(Function<T, LocalDateTime> position, Function<T, Long> id) {
+        if (!hasNext || content.isEmpty()) {
+            return null;
+        }
+        T last = content.get(content.size() - 1);
+        LocalDateTime lastPosition = position.apply(last);
+        return lastPosition != null ? new KeysetCursor(lastPosition, id.apply(last)) : null;
+    }
+}
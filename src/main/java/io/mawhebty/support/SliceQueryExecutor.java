@@ -0,0 +1,89 @@
+package io.mawhebty.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * List pages read straight into cards: a constructor expression over the card's columns,
+ * so no entity graph (status, visibility, moderation, categories...) is hydrated per row.
+ * A slice reads one row past the page to tell if there is a next one, without a COUNT query.
+ */
+@Component
+public class SliceQueryExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Bound the statements of the current transaction, must run inside it */
+    public void setLocalStatementTimeout(long timeoutMs) {
+        entityManager.createNativeQuery("SELECT set_config('statement_timeout', :timeout, true)")
+                .setParameter("timeout", timeoutMs + "ms")
+                .getSingleResult();
+    }
+
+    public <T, R> Slice<R> findSlice(Class<T> domainClass, Specification<T> spec, Pageable pageable,
+                                     Class<R> cardClass, CardSelection<T> selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(cardClass);
+        Root<T> root = query.from(domainClass);
+
+        applySpecification(spec, root, query, cb);
+        query.select(cb.construct(cardClass, selection.columns(root, cb).toArray(new Selection<?>[0])));
+        // an unsorted pageable keeps any order the specification set itself (e.g. relevance)
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        int size = pageable.getPageSize();
+        List<R> rows = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    // a first page that is not full is its own total, otherwise the total comes from a COUNT query
+    public <T, R> Page<R> findPage(Class<T> domainClass, Specification<T> spec, Pageable pageable,
+                                   Class<R> cardClass, CardSelection<T> selection) {
+        Slice<R> slice = findSlice(domainClass, spec, pageable, cardClass, selection);
+        long total = pageable.getOffset() == 0 && !slice.hasNext()
+                ? slice.getNumberOfElements()
+                : count(domainClass, spec);
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    public <T> long count(Class<T> domainClass, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+
+        applySpecification(spec, root, query, cb);
+        query.select(cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private <T> void applySpecification(Specification<T> spec, Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec == null) return;
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+-- Full-text search for posts, events and articles.
+-- Arabic text is normalized (diacritics/tatweel stripped, alef/yaa/taa-marbuta variants folded),
+-- then everything goes through the english configuration: Latin words are stemmed, Arabic words
+-- are kept as normalized tokens. Documents and queries share the same normalization.
+
+CREATE OR REPLACE FUNCTION mawhebty_normalize_ar(input TEXT)
+RETURNS TEXT
+LANGUAGE sql
+IMMUTABLE
+PARALLEL SAFE
+AS $$
+    SELECT translate(
+               regexp_replace(coalesce(input, ''), '[\u064B-\u065F\u0670\u0640]', '', 'g'),
+               'أإآٱىة',
+               'اااايه'
+           )
+$$;
+
+CREATE OR REPLACE FUNCTION mawhebty_search_query(query TEXT)
+RETURNS tsquery
+LANGUAGE sql
+IMMUTABLE
+PARALLEL SAFE
+AS $$
+    SELECT websearch_to_tsquery('english', mawhebty_normalize_ar(query))
+$$;
+
+-- posts
+ALTER TABLE posts
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', mawhebty_normalize_ar(title)), 'A') ||
+            setweight(to_tsvector('english', mawhebty_normalize_ar(caption)), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON posts USING GIN (search_vector);
+
+-- events
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', mawhebty_normalize_ar(title_en)), 'A') ||
+            setweight(to_tsvector('english', mawhebty_normalize_ar(title_ar)), 'A') ||
+            setweight(to_tsvector('english', mawhebty_normalize_ar(description_en)), 'B') ||
+            setweight(to_tsvector('english', mawhebty_normalize_ar(description_ar)), 'B') ||
+            setweight(to_tsvector('english', mawhebty_normalize_ar(location)), 'C') ||
+            setweight(to_tsvector('english', mawhebty_normalize_ar(tags)), 'C')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
+
+-- articles
+ALTER TABLE articles
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', mawhebty_normalize_ar(title_en)), 'A') ||
+            setweight(to_tsvector('english', mawhebty_normalize_ar(title_ar)), 'A') ||
+            setweight(to_tsvector('english', mawhebty_normalize_ar(tags)), 'C')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_articles_search_vector ON articles USING GIN (search_vector);
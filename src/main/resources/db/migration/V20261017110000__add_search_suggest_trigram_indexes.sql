@@ -0,0 +1,25 @@
+-- Trigram indexes for the search-as-you-type suggestions.
+-- Expressions must match SearchSuggestRepository exactly (lower-cased, Arabic-normalized titles).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_posts_title_trgm
+    ON posts USING GIN (mawhebty_normalize_ar(lower(title)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_events_title_en_trgm
+    ON events USING GIN (mawhebty_normalize_ar(lower(title_en)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_events_title_ar_trgm
+    ON events USING GIN (mawhebty_normalize_ar(lower(title_ar)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_articles_title_en_trgm
+    ON articles USING GIN (mawhebty_normalize_ar(lower(title_en)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_articles_title_ar_trgm
+    ON articles USING GIN (mawhebty_normalize_ar(lower(title_ar)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_talent_categories_name_en_trgm
+    ON talent_categories USING GIN (mawhebty_normalize_ar(lower(name_en)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_talent_categories_name_ar_trgm
+    ON talent_categories USING GIN (mawhebty_normalize_ar(lower(name_ar)) gin_trgm_ops);
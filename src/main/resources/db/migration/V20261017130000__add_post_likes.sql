@@ -0,0 +1,24 @@
+-- Post likes: one row per (post, user), plus a denormalized counter on posts.
+-- likes_count is moved by relative increments from the like-count flusher, so the read
+-- path never needs a COUNT(*) over post_likes; a background pass resets it from post_likes
+-- when it stays off for two runs (deltas lost with an instance).
+
+CREATE TABLE IF NOT EXISTS post_likes (
+    id         BIGSERIAL PRIMARY KEY,
+    post_id    BIGINT    NOT NULL REFERENCES posts (id) ON DELETE CASCADE,
+    user_id    BIGINT    NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_post_like_post_user UNIQUE (post_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_like_user ON post_likes (user_id);
+
+ALTER TABLE posts
+    ADD COLUMN IF NOT EXISTS likes_count BIGINT NOT NULL DEFAULT 0;
+
+-- backfill for any likes recorded before the column existed
+UPDATE posts p
+SET likes_count = l.total
+FROM (SELECT post_id, COUNT(*) AS total FROM post_likes GROUP BY post_id) l
+WHERE l.post_id = p.id;
@@ -0,0 +1,21 @@
+-- Refresh tokens: one row per issued refresh token (jti), grouped into families.
+-- A family starts at login and every refresh rotates to a new jti in the same family;
+-- presenting an already rotated jti revokes the whole family (token reuse).
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    jti        UUID      PRIMARY KEY,
+    family_id  UUID      NOT NULL,
+    user_id    BIGINT    NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    expires_at TIMESTAMP NOT NULL,
+    rotated_at TIMESTAMP,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user ON refresh_tokens (user_id);
+
+-- revoked families still alive, read at startup and by the revocation poll
+CREATE INDEX IF NOT EXISTS idx_refresh_token_revoked ON refresh_tokens (revoked_at)
+    WHERE revoked_at IS NOT NULL;
@@ -0,0 +1,5 @@
+-- Verification attempts per OTP code. Codes are now digested with a fast keyed HMAC,
+-- so guessing is bounded by this counter rather than by the cost of BCrypt.
+
+ALTER TABLE user_otp
+    ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 0;
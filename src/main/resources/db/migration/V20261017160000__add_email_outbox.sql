@@ -0,0 +1,22 @@
+-- Outgoing mail, written in the caller's transaction and drained by EmailOutboxDispatcher.
+-- A PENDING row is due once next_attempt_at has passed; a claimed row has next_attempt_at
+-- pushed ahead as a lease, so a dispatcher that dies mid-batch only delays its messages.
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGSERIAL    PRIMARY KEY,
+    recipient       VARCHAR(320) NOT NULL,
+    subject         VARCHAR(500) NOT NULL,
+    body            TEXT         NOT NULL,
+    html            BOOLEAN      NOT NULL DEFAULT false,
+    status          VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL DEFAULT now(),
+    last_error      TEXT,
+    sent_at         TIMESTAMP,
+    created_at      TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMP
+);
+
+-- only the pending rows are ever scanned by the dispatcher
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (next_attempt_at, id)
+    WHERE status = 'PENDING';
@@ -0,0 +1,80 @@
+-- user_otp becomes range-partitioned by expiry_date, one partition per day.
+-- Expired and used codes are removed by dropping whole day partitions (OtpPartitionSweeper),
+-- never row by row, and lookups with expiry_date > now only touch the current partitions.
+-- Codes live ten minutes, so only rows that are still within a day of expiring are carried over.
+
+-- the id sequence of the old table goes away with it
+CREATE SEQUENCE IF NOT EXISTS user_otp_id_seq_partitioned;
+SELECT setval('user_otp_id_seq_partitioned', COALESCE((SELECT MAX(id) FROM user_otp), 0) + 1, false);
+
+CREATE TABLE user_otp_partitioned (LIKE user_otp INCLUDING DEFAULTS)
+    PARTITION BY RANGE (expiry_date);
+
+ALTER TABLE user_otp_partitioned
+    ALTER COLUMN id SET DEFAULT nextval('user_otp_id_seq_partitioned'),
+    ALTER COLUMN expiry_date SET NOT NULL,
+    -- the partition key has to be part of the primary key
+    ADD CONSTRAINT pk_user_otp PRIMARY KEY (id, expiry_date),
+    ADD CONSTRAINT fk_user_otp_user FOREIGN KEY (user_id) REFERENCES users (id);
+
+-- catches rows outside the prepared day partitions, e.g. after the sweeper was down for days
+CREATE TABLE user_otp_default PARTITION OF user_otp_partitioned DEFAULT;
+
+ALTER TABLE user_otp RENAME TO user_otp_legacy;
+ALTER TABLE user_otp_partitioned RENAME TO user_otp;
+
+-- creates the day partitions from yesterday to days_ahead, drops those that ended more than
+-- retain_days ago and clears the default partition alike; returns the number of dropped partitions
+CREATE OR REPLACE FUNCTION user_otp_maintain_partitions(days_ahead INT, retain_days INT)
+RETURNS INT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    part_day DATE;
+    part     RECORD;
+    dropped  INT := 0;
+BEGIN
+    -- one maintainer at a time across instances
+    PERFORM pg_advisory_xact_lock(hashtext('user_otp_maintain_partitions'));
+
+    FOR part_day IN SELECT generate_series(current_date - 1, current_date + days_ahead, INTERVAL '1 day')::date LOOP
+        BEGIN
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF user_otp FOR VALUES FROM (%L) TO (%L)',
+                           'user_otp_' || to_char(part_day, 'YYYYMMDD'), part_day, part_day + 1);
+        EXCEPTION WHEN others THEN
+            -- the default partition already holds rows of that day, they stay there until swept
+            RAISE WARNING 'user_otp partition for % not created: %', part_day, SQLERRM;
+        END;
+    END LOOP;
+
+    FOR part IN
+        SELECT child.relname
+        FROM pg_inherits i
+                 JOIN pg_class child ON child.oid = i.inhrelid
+                 JOIN pg_class parent ON parent.oid = i.inhparent
+        WHERE parent.relname = 'user_otp'
+          AND child.relname ~ '^user_otp_[0-9]{8}$'
+          AND to_date(substring(child.relname FROM 10), 'YYYYMMDD') + 1 < current_date - retain_days
+    LOOP
+        EXECUTE format('DROP TABLE %I', part.relname);
+        dropped := dropped + 1;
+    END LOOP;
+
+    DELETE FROM user_otp_default WHERE expiry_date < current_date - retain_days;
+    RETURN dropped;
+END
+$$;
+
+SELECT user_otp_maintain_partitions(7, 1);
+
+-- rows still within a day of expiring move over, the rest goes with the old table
+INSERT INTO user_otp
+SELECT * FROM user_otp_legacy
+WHERE expiry_date > now() - INTERVAL '1 day';
+
+DROP TABLE user_otp_legacy;
+ALTER SEQUENCE user_otp_id_seq_partitioned OWNED BY user_otp.id;
+
+-- "active OTP for user" lookups: unused codes only, unexpired ones are the current partitions
+CREATE INDEX IF NOT EXISTS idx_otp_active ON user_otp (user_id, expiry_date)
+    WHERE is_used = false;
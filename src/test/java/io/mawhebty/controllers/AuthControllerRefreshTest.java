@@ -0,0 +1,46 @@
+package io.mawhebty.controllers;
+
+import io.jsonwebtoken.Jwts;
+import io.mawhebty.security.VerifiedClaims;
+import io.mawhebty.services.JWTService;
+import io.mawhebty.services.UserService;
+import io.mawhebty.services.auth.RefreshTokenStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthControllerRefreshTest {
+
+    @Test
+    void legacyRefreshTokenWithoutFamilyIsRejected() {
+        JWTService jwtService = mock(JWTService.class);
+        UserService userService = mock(UserService.class);
+        RefreshTokenStore refreshTokenStore = mock(RefreshTokenStore.class);
+        AuthController controller = new AuthController(null, null, jwtService, userService, refreshTokenStore);
+
+        // issued before refresh-token families: no jti, no sid
+        when(jwtService.getRefreshToken("legacy", null)).thenReturn("legacy");
+        when(jwtService.verifyToken("legacy")).thenReturn(new VerifiedClaims(Jwts.claims(Map.of(
+                "userId", 7L,
+                "email", "talent@mawhebty.test",
+                "tokenType", "REFRESH"))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<?> result = controller.refreshToken("legacy", null, new MockHttpServletRequest(), response);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        // the cookie is cleared so the client stops presenting it
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).startsWith("refresh_token=;").contains("Max-Age=0");
+        verifyNoInteractions(refreshTokenStore, userService);
+    }
+}
@@ -0,0 +1,87 @@
+package io.mawhebty.repository;
+
+import io.mawhebty.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * user_otp_maintain_partitions against a real partitioned user_otp. Each test starts without day
+ * partitions; whatever it creates or drops is rolled back with the test transaction.
+ */
+class UserOtpPartitionMaintenanceTest extends PostgresJpaTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserOtpRepository userOtpRepository;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        // the function works off the database's current_date, not the JVM's
+        today = jdbcTemplate.queryForObject("SELECT current_date", LocalDate.class);
+        dayPartitions().forEach(name -> jdbcTemplate.execute("DROP TABLE " + name));
+    }
+
+    @Test
+    void partitionsAreCreatedFromYesterdayThroughDaysAhead() {
+        int dropped = userOtpRepository.maintainPartitions(3, 1);
+
+        assertThat(dropped).isZero();
+        assertThat(dayPartitions()).containsExactly(
+                partition(today.minusDays(1)), partition(today), partition(today.plusDays(1)),
+                partition(today.plusDays(2)), partition(today.plusDays(3)));
+    }
+
+    @Test
+    void onlyPartitionsThatEndedMoreThanRetainDaysAgoAreDropped() {
+        // ended retain_days + 1 ago, and exactly retain_days ago
+        createPartition(today.minusDays(3));
+        createPartition(today.minusDays(2));
+
+        int dropped = userOtpRepository.maintainPartitions(0, 1);
+
+        assertThat(dropped).isEqualTo(1);
+        assertThat(dayPartitions()).containsExactly(
+                partition(today.minusDays(2)), partition(today.minusDays(1)), partition(today));
+    }
+
+    @Test
+    void rerunningIsANoOp() {
+        userOtpRepository.maintainPartitions(2, 1);
+        List<String> partitions = dayPartitions();
+
+        assertThat(userOtpRepository.maintainPartitions(2, 1)).isZero();
+        assertThat(dayPartitions()).isEqualTo(partitions);
+    }
+
+    private void createPartition(LocalDate day) {
+        jdbcTemplate.execute("CREATE TABLE " + partition(day) + " PARTITION OF user_otp " +
+                "FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+    }
+
+    private List<String> dayPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT child.relname FROM pg_inherits i " +
+                        "JOIN pg_class child ON child.oid = i.inhrelid " +
+                        "JOIN pg_class parent ON parent.oid = i.inhparent " +
+                        "WHERE parent.relname = 'user_otp' AND child.relname ~ '^user_otp_[0-9]{8}$' " +
+                        "ORDER BY child.relname", String.class);
+    }
+
+    private static String partition(LocalDate day) {
+        return "user_otp_" + day.format(PARTITION_SUFFIX);
+    }
+}
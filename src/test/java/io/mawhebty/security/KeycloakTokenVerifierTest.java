@@ -0,0 +1,96 @@
+package io.mawhebty.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeycloakTokenVerifierTest {
+
+    private static final String ISSUER = "http://keycloak.test/realms/Mawhebty";
+
+    private static RSAKey realmKey;
+    private static KeycloakTokenVerifier verifier;
+
+    @BeforeAll
+    static void setUp() throws JOSEException {
+        realmKey = new RSAKeyGenerator(2048).keyID("realm-key").generate();
+        verifier = new KeycloakTokenVerifier(new ImmutableJWKSet<>(new JWKSet(realmKey.toPublicJWK())), ISSUER);
+    }
+
+    @Test
+    void validTokenResolvesUsernameAndRealmRoles() throws JOSEException {
+        String token = sign(realmKey, claims(ISSUER, Instant.now().plus(Duration.ofMinutes(5))));
+
+        KeycloakTokenVerifier.KeycloakIdentity identity = verifier.verify(token);
+
+        assertThat(identity.getUsername()).isEqualTo("moderation-service");
+        assertThat(identity.getRoles()).containsExactly("ADMIN", "MODERATOR");
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyUnderTheSameKidIsRejected() throws JOSEException {
+        RSAKey forged = new RSAKeyGenerator(2048).keyID(realmKey.getKeyID()).generate();
+        String token = sign(forged, claims(ISSUER, Instant.now().plus(Duration.ofMinutes(5))));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws JOSEException {
+        // well past the validator's default 60 s clock skew
+        String token = sign(realmKey, claims(ISSUER, Instant.now().minus(Duration.ofMinutes(5))));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void tokenOfAnotherIssuerIsRejected() throws JOSEException {
+        String token = sign(realmKey, claims("http://keycloak.test/realms/Other", Instant.now().plus(Duration.ofMinutes(5))));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void tokenWithUnknownKidIsRejected() throws JOSEException {
+        RSAKey unknown = new RSAKeyGenerator(2048).keyID("rotated-away").generate();
+        String token = sign(unknown, claims(ISSUER, Instant.now().plus(Duration.ofMinutes(5))));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    private static JWTClaimsSet claims(String issuer, Instant expiresAt) {
+        return new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject("8f0d6c1e-moderation-service")
+                .issueTime(Date.from(expiresAt.minus(Duration.ofMinutes(10))))
+                .expirationTime(Date.from(expiresAt))
+                .claim("preferred_username", "moderation-service")
+                .claim("realm_access", Map.of("roles", List.of("ADMIN", "MODERATOR")))
+                .build();
+    }
+
+    private static String sign(RSAKey key, JWTClaimsSet claims) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
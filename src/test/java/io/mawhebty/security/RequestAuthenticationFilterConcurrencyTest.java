@@ -0,0 +1,137 @@
+package io.mawhebty.security;
+
+import io.jsonwebtoken.Jwts;
+import io.mawhebty.enums.UserRoleEnum;
+import io.mawhebty.enums.UserStatusEnum;
+import io.mawhebty.services.JWTService;
+import io.mawhebty.services.auth.AuthSnapshotCache;
+import io.mawhebty.services.auth.RefreshTokenStore;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Many requests with distinct tokens through the filter at once: each one must resolve
+ * its own principal, never a principal built for a request running next to it.
+ */
+class RequestAuthenticationFilterConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 800;
+
+    private MockMvc mockMvc;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        JWTService jwtService = mock(JWTService.class);
+        AuthSnapshotCache authSnapshotCache = mock(AuthSnapshotCache.class);
+
+        // the bearer token is just the user id, the claims carry that id and its email
+        when(jwtService.getVerifiedClaims(any(HttpServletRequest.class))).thenAnswer(invocation -> {
+            HttpServletRequest request = invocation.getArgument(0);
+            long userId = Long.parseLong(request.getHeader(HttpHeaders.AUTHORIZATION).substring("Bearer ".length()));
+            return new VerifiedClaims(Jwts.claims(Map.of(
+                    "userId", userId,
+                    "email", email(userId),
+                    "tokenType", "FULL_ACCESS",
+                    "userStatus", UserStatusEnum.ACTIVE.name())));
+        });
+        when(authSnapshotCache.get(anyLong())).thenAnswer(invocation -> {
+            long userId = invocation.getArgument(0);
+            return new AuthSnapshot(userId, email(userId), UserRoleEnum.TALENT, UserStatusEnum.ACTIVE.getName(), true,
+                    List.of(new SimpleGrantedAuthority("ROLE_TALENT")));
+        });
+
+        RequestAuthenticationFilter filter = new RequestAuthenticationFilter(
+                jwtService, authSnapshotCache, mock(KeycloakTokenVerifier.class), mock(RefreshTokenStore.class));
+
+        // stands in for Spring Security's SecurityContextHolderFilter, which clears the context after each request
+        Filter clearContext = (request, response, chain) -> {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new PrincipalController())
+                .addFilters(clearContext, filter)
+                .build();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelRequestsEachResolveTheirOwnPrincipal() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<String[]>> calls = new ArrayList<>();
+        for (long userId = 1; userId <= REQUESTS; userId++) {
+            long id = userId;
+            calls.add(() -> {
+                start.await();
+                String body = mockMvc.perform(get("/api/v1/mawhebty-platform/feeds/principal")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + id))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                return new String[]{id + ":" + email(id), body};
+            });
+        }
+
+        List<Future<String[]>> results = new ArrayList<>();
+        for (Callable<String[]> call : calls) {
+            results.add(executor.submit(call));
+        }
+        start.countDown();
+
+        for (Future<String[]> result : results) {
+            String[] expectedAndActual = result.get(30, TimeUnit.SECONDS);
+            assertThat(expectedAndActual[1]).isEqualTo(expectedAndActual[0]);
+        }
+    }
+
+    private static String email(long userId) {
+        return "user" + userId + "@mawhebty.test";
+    }
+
+    @RestController
+    static class PrincipalController {
+
+        @GetMapping("/api/v1/mawhebty-platform/feeds/principal")
+        String principal() {
+            CustomUserDetails user = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            return user.getUserId() + ":" + user.getUsername();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.mawhebty.services;
+
+import io.mawhebty.dtos.FindOrCreateUserDto;
+import io.mawhebty.dtos.requests.LoginRequest;
+import io.mawhebty.models.EmailOutboxMessage;
+import io.mawhebty.models.User;
+import io.mawhebty.repository.EmailOutboxRepository;
+import io.mawhebty.repository.UserOtpRepository;
+import io.mawhebty.repository.UserRepository;
+import io.mawhebty.services.auth.OtpDigester;
+import io.mawhebty.services.mail.EmailOutbox;
+import io.mawhebty.services.mail.EmailOutboxDispatcher;
+import io.mawhebty.services.mail.EmailTemplates;
+import io.mawhebty.support.MessageService;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Login against a mail server that takes a fixed time per message. Before the outbox, every
+ * login paid that round trip; now it only writes the OTP and its outbox row, so its p99 has
+ * to stay far below a single SMTP send while the dispatcher delivers in the background.
+ */
+class LoginLatencyTest {
+
+    private static final long SMTP_LATENCY_MS = 200;
+    private static final int WARM_UP = 50;
+    private static final int LOGINS = 300;
+
+    private EmailOutboxDispatcher dispatcher;
+    private RegistrationService registrationService;
+
+    @BeforeEach
+    void setUp() {
+        SlowTransport.sent.set(0);
+
+        // outbox rows live in a queue that the dispatcher claims from
+        Queue<EmailOutboxMessage> outboxRows = new ConcurrentLinkedQueue<>();
+        AtomicLong outboxIds = new AtomicLong();
+        EmailOutboxRepository outboxRepository = mock(EmailOutboxRepository.class);
+        when(outboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(invocation -> {
+            EmailOutboxMessage message = invocation.getArgument(0);
+            message.setId(outboxIds.incrementAndGet());
+            outboxRows.add(message);
+            return message;
+        });
+        when(outboxRepository.claimDue(anyInt(), any(), any())).thenAnswer(invocation -> {
+            int batchSize = invocation.getArgument(0);
+            List<EmailOutboxMessage> batch = new ArrayList<>();
+            EmailOutboxMessage message;
+            while (batch.size() < batchSize && (message = outboxRows.poll()) != null) {
+                batch.add(message);
+            }
+            return batch;
+        });
+
+        Session session = Session.getInstance(new Properties());
+        session.addProvider(new Provider(Provider.Type.TRANSPORT, "slow", SlowTransport.class.getName(), "mawhebty", "test"));
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setSession(session);
+        mailSender.setProtocol("slow");
+
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, mailSender);
+        ReflectionTestUtils.setField(dispatcher, "emailSender", "no-reply@mawhebty.test");
+        ReflectionTestUtils.setField(dispatcher, "appName", "mawhebty");
+        ReflectionTestUtils.setField(dispatcher, "pollIntervalMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 8);
+        ReflectionTestUtils.setField(dispatcher, "backoffBaseSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxSeconds", 3600L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "retainDays", 7L);
+        ReflectionTestUtils.setField(dispatcher, "purgeIntervalMinutes", 60L);
+        ReflectionTestUtils.invokeMethod(dispatcher, "init");
+
+        EmailTemplates emailTemplates = mock(EmailTemplates.class);
+        when(emailTemplates.render(any(), any(), any(String[].class)))
+                .thenReturn(new EmailTemplates.RenderedEmail("Verify your account", "<p>code</p>"));
+        EmailService emailService = new EmailService(new EmailOutbox(outboxRepository, dispatcher), emailTemplates);
+
+        OtpDigester otpDigester = new OtpDigester(new BCryptPasswordEncoder());
+        ReflectionTestUtils.setField(otpDigester, "pepper", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.invokeMethod(otpDigester, "init");
+
+        User user = User.builder().id(7L).email("talent@mawhebty.test").build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        UserOtpRepository userOtpRepository = mock(UserOtpRepository.class);
+        when(userOtpRepository.countActiveOtpsByUserId(anyLong(), any())).thenReturn(0L);
+        when(userOtpRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        MessageService messageService = mock(MessageService.class);
+
+        OTPService otpService = new OTPService(userRepository, userOtpRepository, otpDigester, emailService,
+                mock(JWTService.class), null, null, null, mock(UserProfileService.class),
+                null, messageService);
+
+        UserService userService = mock(UserService.class);
+        when(userService.findOrCreateByEmail(anyString()))
+                .thenReturn(FindOrCreateUserDto.builder().user(user).isNew(false).build());
+
+        // login only goes through the user lookup and the OTP path
+        registrationService = new RegistrationService(null, null, null, null, null, null, null, null, null,
+                otpService, null, null, null, null, userService, null, null, messageService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(dispatcher, "shutdown");
+    }
+
+    @Test
+    void loginP99StaysFarBelowOneSmtpRoundTrip() throws InterruptedException {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("talent@mawhebty.test");
+
+        for (int i = 0; i < WARM_UP; i++) {
+            registrationService.login(request);
+        }
+
+        long[] latencies = new long[LOGINS];
+        for (int i = 0; i < LOGINS; i++) {
+            long start = System.nanoTime();
+            registrationService.login(request);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        long p99Ms = TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(LOGINS * 0.99) - 1]);
+
+        assertThat(p99Ms).isLessThan(SMTP_LATENCY_MS / 4);
+
+        // the mail still goes out, from the dispatcher thread
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (SlowTransport.sent.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(SlowTransport.sent.get()).isPositive();
+    }
+
+    // a mail server that answers every message after SMTP_LATENCY_MS
+    public static class SlowTransport extends Transport {
+
+        static final AtomicInteger sent = new AtomicInteger();
+
+        public SlowTransport(Session session, URLName urlName) {
+            super(session, urlName);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password) {
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+            try {
+                Thread.sleep(SMTP_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessagingException("Interrupted while sending", e);
+            }
+            sent.incrementAndGet();
+        }
+    }
+}
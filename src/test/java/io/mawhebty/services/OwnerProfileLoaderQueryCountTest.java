@@ -0,0 +1,30 @@
+package io.mawhebty.services;
+
+import io.mawhebty.support.PostgresJpaTest;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnerProfileLoaderQueryCountTest extends PostgresJpaTest {
+
+    @Autowired
+    private OwnerProfileLoader ownerProfileLoader;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50, 200})
+    void pageOfOwnersIsResolvedWithAtMostOneQueryPerProfileTable(int pageSize) {
+        // none of these owners has a profile, so every table is asked: the worst case
+        List<Long> userIds = LongStream.rangeClosed(1, pageSize).boxed().toList();
+        Statistics statistics = clearedStatistics();
+
+        ownerProfileLoader.loadByUserIds(userIds);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+}
@@ -0,0 +1,39 @@
+package io.mawhebty.services;
+
+import io.mawhebty.enums.SavedItemTypeEnum;
+import io.mawhebty.models.SavedItemType;
+import io.mawhebty.support.PostgresJpaTest;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class SavedStateResolverQueryCountTest extends PostgresJpaTest {
+
+    @Autowired
+    private SavedStateResolver savedStateResolver;
+
+    @BeforeEach
+    void setUp() {
+        when(referenceDataRegistry.savedItemType(SavedItemTypeEnum.POST))
+                .thenReturn(SavedItemType.builder().id(1).name(SavedItemTypeEnum.POST).build());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50, 200})
+    void savedStateOfAPageIsResolvedWithOneQuery(int pageSize) {
+        List<Long> postIds = LongStream.rangeClosed(1, pageSize).boxed().toList();
+        Statistics statistics = clearedStatistics();
+
+        savedStateResolver.savedItemIds(7L, SavedItemTypeEnum.POST, postIds);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,90 @@
+package io.mawhebty.services.auth;
+
+import io.mawhebty.models.User;
+import io.mawhebty.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthSnapshotCacheTest {
+
+    private static final Long USER_ID = 7L;
+
+    private UserRepository userRepository;
+    private AuthSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findByIdFetchRoleAndStatusAndUserType(USER_ID)).thenReturn(Optional.of(user(false)));
+
+        cache = new AuthSnapshotCache(userRepository);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void entryIsOnlyDroppedOnceTheChangeCommitted() {
+        assertThat(cache.get(USER_ID).isVerified()).isFalse();
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateAfterCommit(USER_ID);
+        // uncommitted: a request running now must not load and cache the old row again
+        assertThat(cache.get(USER_ID).isVerified()).isFalse();
+        verify(userRepository, times(1)).findByIdFetchRoleAndStatusAndUserType(USER_ID);
+
+        when(userRepository.findByIdFetchRoleAndStatusAndUserType(USER_ID)).thenReturn(Optional.of(user(true)));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(cache.get(USER_ID).isVerified()).isTrue();
+        verify(userRepository, times(2)).findByIdFetchRoleAndStatusAndUserType(USER_ID);
+    }
+
+    @Test
+    void rolledBackChangeKeepsTheEntry() {
+        cache.get(USER_ID);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateAfterCommit(USER_ID);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        cache.get(USER_ID);
+        verify(userRepository, times(1)).findByIdFetchRoleAndStatusAndUserType(USER_ID);
+    }
+
+    @Test
+    void outsideATransactionTheEntryIsDroppedAtOnce() {
+        cache.get(USER_ID);
+        when(userRepository.findByIdFetchRoleAndStatusAndUserType(USER_ID)).thenReturn(Optional.of(user(true)));
+
+        cache.invalidateAfterCommit(USER_ID);
+
+        assertThat(cache.get(USER_ID).isVerified()).isTrue();
+    }
+
+    private static User user(boolean verified) {
+        return User.builder().id(USER_ID).email("talent@mawhebty.test").isVerified(verified).build();
+    }
+}
@@ -0,0 +1,70 @@
+package io.mawhebty.services.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtpDigesterTest {
+
+    private static final String PEPPER = "0123456789abcdef0123456789abcdef";
+
+    // low cost factor, the tests only need the scheme
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Test
+    void hmacDigestRoundTrips() {
+        OtpDigester digester = digester(PEPPER);
+
+        String stored = digester.digest(42L, "123456");
+
+        assertThat(stored).startsWith("hmac$");
+        assertThat(digester.matches(42L, "123456", stored)).isTrue();
+        assertThat(digester.matches(42L, "654321", stored)).isFalse();
+        // bound to the user it was issued for
+        assertThat(digester.matches(43L, "123456", stored)).isFalse();
+    }
+
+    @Test
+    void legacyBcryptRowStillVerifies() {
+        OtpDigester digester = digester(PEPPER);
+        String stored = passwordEncoder.encode("123456");
+
+        assertThat(digester.matches(42L, "123456", stored)).isTrue();
+        assertThat(digester.matches(42L, "654321", stored)).isFalse();
+    }
+
+    @Test
+    void malformedStoredValueDoesNotMatch() {
+        OtpDigester digester = digester(PEPPER);
+
+        assertThat(digester.matches(42L, "123456", "hmac$not*base64!")).isFalse();
+        assertThat(digester.matches(42L, "123456", "hmac$")).isFalse();
+        assertThat(digester.matches(42L, "123456", "hmac$AAAA")).isFalse();
+        assertThat(digester.matches(42L, "123456", "neither-hmac-nor-bcrypt")).isFalse();
+        assertThat(digester.matches(42L, "123456", null)).isFalse();
+        assertThat(digester.matches(42L, null, digester.digest(42L, "123456"))).isFalse();
+    }
+
+    @Test
+    void withoutPepperCodesAreHashedWithBcrypt() {
+        OtpDigester digester = digester("");
+
+        String stored = digester.digest(42L, "123456");
+
+        assertThat(stored).doesNotStartWith("hmac$");
+        assertThat(passwordEncoder.matches("123456", stored)).isTrue();
+        assertThat(digester.matches(42L, "123456", stored)).isTrue();
+        // an HMAC row cannot be checked without the pepper it was keyed with
+        assertThat(digester.matches(42L, "123456", digester(PEPPER).digest(42L, "123456"))).isFalse();
+    }
+
+    private OtpDigester digester(String pepper) {
+        OtpDigester digester = new OtpDigester(passwordEncoder);
+        ReflectionTestUtils.setField(digester, "pepper", pepper);
+        digester.init();
+        return digester;
+    }
+}
@@ -0,0 +1,117 @@
+package io.mawhebty.services.auth;
+
+import io.mawhebty.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenStoreTest {
+
+    private static final Long USER_ID = 7L;
+
+    private RefreshTokenRepository repository;
+    private RefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RefreshTokenRepository.class);
+        when(repository.findLiveRevokedFamilyIds(any())).thenReturn(List.of());
+        when(repository.findFamilyIdsRevokedSince(any(), any())).thenReturn(List.of());
+
+        store = new RefreshTokenStore(repository);
+        ReflectionTestUtils.setField(store, "refreshTokenExpiration", 604800L);
+        ReflectionTestUtils.setField(store, "expectedRevocations", 1000);
+        ReflectionTestUtils.setField(store, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(store, "revokedCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(store, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ReflectionTestUtils.invokeMethod(store, "shutdown");
+    }
+
+    @Test
+    void rotationIssuesTheNextTokenOfTheSameFamily() {
+        UUID familyId = UUID.randomUUID();
+        UUID jti = UUID.randomUUID();
+        when(repository.markRotated(eq(jti), eq(familyId), eq(USER_ID), any())).thenReturn(1);
+
+        Optional<RefreshTokenStore.IssuedRefreshToken> rotated = store.rotate(jti, familyId, USER_ID);
+
+        assertThat(rotated).isPresent();
+        assertThat(rotated.get().getFamilyId()).isEqualTo(familyId);
+        assertThat(rotated.get().getJti()).isNotEqualTo(jti);
+        verify(repository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void replayedTokenRevokesItsFamily() {
+        UUID familyId = UUID.randomUUID();
+        UUID jti = UUID.randomUUID();
+        // already rotated: the conditional update matches nothing
+        when(repository.markRotated(eq(jti), eq(familyId), eq(USER_ID), any())).thenReturn(0);
+
+        assertThat(store.rotate(jti, familyId, USER_ID)).isEmpty();
+
+        verify(repository).revokeFamily(eq(familyId), any());
+        assertThat(store.isFamilyRevoked(familyId)).isTrue();
+        // the successor issued before the replay is refused as well
+        assertThat(store.rotate(UUID.randomUUID(), familyId, USER_ID)).isEmpty();
+    }
+
+    @Test
+    void revocationIsSeenOnThisInstanceRightAfterCommit() {
+        UUID familyId = UUID.randomUUID();
+        // the revoking transaction has not committed, other readers still see the family live
+        when(repository.existsByFamilyIdAndRevokedAtIsNotNull(familyId)).thenReturn(false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        store.revokeFamily(familyId);
+        assertThat(store.isFamilyRevoked(familyId)).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // answered from the confirmed cache, not from the stale "not revoked" read above
+        assertThat(store.isFamilyRevoked(familyId)).isTrue();
+    }
+
+    @Test
+    void pollPicksUpFamiliesRevokedByOtherInstances() {
+        UUID familyId = UUID.randomUUID();
+        assertThat(store.isFamilyRevoked(familyId)).isFalse();
+
+        when(repository.findFamilyIdsRevokedSince(any(), any())).thenReturn(List.of(familyId));
+        store.poll();
+
+        assertThat(store.isFamilyRevoked(familyId)).isTrue();
+        verify(repository, never()).existsByFamilyIdAndRevokedAtIsNotNull(any());
+    }
+
+    @Test
+    void familyOutsideTheFilterIsNotLookedUp() {
+        assertThat(store.isFamilyRevoked(UUID.randomUUID())).isFalse();
+        assertThat(store.isFamilyRevoked(null)).isFalse();
+
+        verify(repository, never()).existsByFamilyIdAndRevokedAtIsNotNull(any());
+    }
+}
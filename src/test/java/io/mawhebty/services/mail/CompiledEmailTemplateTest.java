@@ -0,0 +1,75 @@
+package io.mawhebty.services.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledEmailTemplateTest {
+
+    private static final UnaryOperator<String> MESSAGES = Map.of(
+            "email.greeting", "Hello",
+            "email.footer", "<small>The Mawhebty team</small>")::get;
+
+    @Test
+    void slotsAreFilledByNameWhateverTheirOrderInTheSource() {
+        CompiledEmailTemplate template = CompiledEmailTemplate.compile("Your code",
+                "{{email.greeting}} {{name}}, your code is {{ code }}. Again: {{code}}",
+                List.of("code", "name"), MESSAGES);
+
+        assertThat(render(template, "123456", "Sara")).isEqualTo("Hello Sara, your code is 123456. Again: 123456");
+        assertThat(template.subject()).isEqualTo("Your code");
+    }
+
+    @Test
+    void slotValuesAreEscapedButStaticTextIsNot() {
+        CompiledEmailTemplate template = CompiledEmailTemplate.compile("Rejected",
+                "<p>{{reason}}</p>{{email.footer}}", List.of("reason"), MESSAGES);
+
+        assertThat(render(template, "<script>alert('x')</script> & \"more\" — مرفوض"))
+                .isEqualTo("<p>&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;more&quot; — مرفوض</p>"
+                        + "<small>The Mawhebty team</small>");
+    }
+
+    @Test
+    void missingValueRendersAsEmpty() {
+        CompiledEmailTemplate template = CompiledEmailTemplate.compile("Welcome",
+                "[{{name}}]", List.of("name"), MESSAGES);
+
+        assertThat(render(template, (String) null)).isEqualTo("[]");
+    }
+
+    @Test
+    void templateWithoutSlotsIsOneLiteral() {
+        CompiledEmailTemplate template = CompiledEmailTemplate.compile("Welcome",
+                "{{email.greeting}}!", List.of(), MESSAGES);
+
+        assertThat(render(template)).isEqualTo("Hello!");
+        assertThat(template.literalLength()).isEqualTo("Hello!".length());
+    }
+
+    @Test
+    void unknownPlaceholderFailsAtCompileTime() {
+        assertThatThrownBy(() -> CompiledEmailTemplate.compile("Welcome",
+                "{{email.greeting}} {{nmae}}", List.of("name"), MESSAGES))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("nmae");
+    }
+
+    @Test
+    void unclosedPlaceholderFailsAtCompileTime() {
+        assertThatThrownBy(() -> CompiledEmailTemplate.compile("Welcome",
+                "Hello {{name", List.of("name"), MESSAGES))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static String render(CompiledEmailTemplate template, String... values) {
+        StringBuilder out = new StringBuilder();
+        template.renderTo(out, values);
+        return out.toString();
+    }
+}
@@ -0,0 +1,205 @@
+package io.mawhebty.services.mail;
+
+import io.mawhebty.enums.EmailOutboxStatus;
+import io.mawhebty.models.EmailOutboxMessage;
+import io.mawhebty.repository.EmailOutboxRepository;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long BACKOFF_BASE_SECONDS = 30;
+    private static final long BACKOFF_MAX_SECONDS = 100;
+
+    private EmailOutboxRepository repository;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        StubTransport.reset();
+
+        // the "stub" protocol resolves to StubTransport instead of a real SMTP server
+        Session session = Session.getInstance(new Properties());
+        session.addProvider(new Provider(Provider.Type.TRANSPORT, "stub", StubTransport.class.getName(), "mawhebty", "test"));
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setSession(session);
+        mailSender.setProtocol("stub");
+
+        repository = mock(EmailOutboxRepository.class);
+        dispatcher = new EmailOutboxDispatcher(repository, mailSender);
+        ReflectionTestUtils.setField(dispatcher, "emailSender", "no-reply@mawhebty.test");
+        ReflectionTestUtils.setField(dispatcher, "appName", "mawhebty");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(dispatcher, "backoffBaseSeconds", BACKOFF_BASE_SECONDS);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxSeconds", BACKOFF_MAX_SECONDS);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+    }
+
+    @Test
+    void batchIsSentOverOneConnectionThatIsClosedOnceTheOutboxIsDrained() {
+        when(repository.claimDue(anyInt(), any(), any()))
+                .thenReturn(List.of(message(1L, "a@mawhebty.test", 0), message(2L, "b@mawhebty.test", 0),
+                        message(3L, "c@mawhebty.test", 0)))
+                .thenReturn(List.of(message(4L, "d@mawhebty.test", 0)));
+
+        dispatcher.dispatch();
+
+        assertThat(StubTransport.sent).containsExactly("a@mawhebty.test", "b@mawhebty.test", "c@mawhebty.test", "d@mawhebty.test");
+        assertThat(StubTransport.connects).hasValue(1);
+        assertThat(StubTransport.closes).hasValue(1);
+        verify(repository, times(4)).markSent(any(), eq(EmailOutboxStatus.SENT), any());
+    }
+
+    @Test
+    void failedSendIsRetriedWithExponentialBackoffOnAFreshConnection() {
+        StubTransport.unavailable.add("a@mawhebty.test");
+        when(repository.claimDue(anyInt(), any(), any()))
+                .thenReturn(List.of(message(1L, "a@mawhebty.test", 1), message(2L, "b@mawhebty.test", 0)));
+
+        dispatcher.dispatch();
+
+        // second attempt: base << 1
+        assertFailedAttempt(1L, EmailOutboxStatus.PENDING, 2, Duration.ofSeconds(BACKOFF_BASE_SECONDS * 2));
+        verify(repository).markSent(eq(2L), eq(EmailOutboxStatus.SENT), any());
+        // the broken connection is dropped, the next message reconnects
+        assertThat(StubTransport.connects).hasValue(2);
+    }
+
+    @Test
+    void backoffIsCappedAtTheMaximum() {
+        StubTransport.unavailable.add("a@mawhebty.test");
+        when(repository.claimDue(anyInt(), any(), any())).thenReturn(List.of(message(1L, "a@mawhebty.test", 2)));
+
+        dispatcher.dispatch();
+
+        // base << 2 would be 120 s
+        assertFailedAttempt(1L, EmailOutboxStatus.PENDING, 3, Duration.ofSeconds(BACKOFF_MAX_SECONDS));
+    }
+
+    @Test
+    void messageIsMarkedFailedOnceMaxAttemptsAreUsedUp() {
+        StubTransport.unavailable.add("a@mawhebty.test");
+        when(repository.claimDue(anyInt(), any(), any())).thenReturn(List.of(message(1L, "a@mawhebty.test", MAX_ATTEMPTS - 1)));
+
+        dispatcher.dispatch();
+
+        verify(repository).markFailed(eq(1L), eq(EmailOutboxStatus.FAILED), eq(MAX_ATTEMPTS), anyString(), any());
+        verify(repository, never()).markFailedAttempt(any(), any(), anyInt(), any(), any(), any());
+        verify(repository, never()).markSent(any(), any(), any());
+    }
+
+    @Test
+    void rejectedRecipientKeepsTheConnectionOpen() {
+        StubTransport.rejected.add("a@mawhebty.test");
+        when(repository.claimDue(anyInt(), any(), any()))
+                .thenReturn(List.of(message(1L, "a@mawhebty.test", 0), message(2L, "b@mawhebty.test", 0)));
+
+        dispatcher.dispatch();
+
+        assertFailedAttempt(1L, EmailOutboxStatus.PENDING, 1, Duration.ofSeconds(BACKOFF_BASE_SECONDS));
+        verify(repository).markSent(eq(2L), eq(EmailOutboxStatus.SENT), any());
+        assertThat(StubTransport.connects).hasValue(1);
+    }
+
+    private void assertFailedAttempt(Long id, EmailOutboxStatus status, int attempts, Duration backoff) {
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).markFailedAttempt(eq(id), eq(status), eq(attempts), nextAttemptAt.capture(), anyString(), now.capture());
+        assertThat(Duration.between(now.getValue(), nextAttemptAt.getValue())).isEqualTo(backoff);
+    }
+
+    private static EmailOutboxMessage message(Long id, String recipient, int attempts) {
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Your code")
+                .body("<p>123456</p>")
+                .html(true)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Stands in for the SMTP server: counts connects and closes, records delivered recipients,
+     * and fails the scripted ones either as a broken send or as a rejected recipient.
+     */
+    public static class StubTransport extends Transport {
+
+        static final AtomicInteger connects = new AtomicInteger();
+        static final AtomicInteger closes = new AtomicInteger();
+        static final List<String> sent = new CopyOnWriteArrayList<>();
+        static final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+        static final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+        public StubTransport(Session session, URLName urlName) {
+            super(session, urlName);
+        }
+
+        static void reset() {
+            connects.set(0);
+            closes.set(0);
+            sent.clear();
+            unavailable.clear();
+            rejected.clear();
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password) {
+            connects.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+            String recipient = addresses[0].toString();
+            if (unavailable.contains(recipient)) {
+                throw new MessagingException("421 Service not available, closing transmission channel");
+            }
+            if (rejected.contains(recipient)) {
+                throw new SendFailedException("550 Mailbox unavailable");
+            }
+            sent.add(recipient);
+        }
+
+        @Override
+        public synchronized void close() throws MessagingException {
+            closes.incrementAndGet();
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.mawhebty.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetTest {
+
+    // sub-second part on purpose, HTTP dates only carry seconds
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 1, 12, 0, 0, 500_000_000);
+
+    private final ConditionalGet conditionalGet = new ConditionalGet();
+    private final AtomicInteger bodyLoads = new AtomicInteger();
+    private final Supplier<String> body = () -> {
+        bodyLoads.incrementAndGet();
+        return "post";
+    };
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(conditionalGet, "publicMaxAgeSeconds", 60L);
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+        request = new MockHttpServletRequest("GET", "/api/v1/mawhebty-platform/posts/1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void firstRequestGetsTheBodyWithItsValidators() {
+        ContentValidator validator = ContentValidator.of(UPDATED_AT, 1L, 5L);
+
+        ResponseEntity<String> response = conditionalGet.respond(validator, conditionalGet.publicCaching(), body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("post");
+        assertThat(response.getHeaders().getETag()).isEqualTo(validator.getEtag());
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 1000 * 1000);
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("max-age=60, public");
+        assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_LANGUAGE, "lang");
+    }
+
+    @Test
+    void matchingEtagAnswers304WithoutLoadingTheBody() {
+        ContentValidator validator = ContentValidator.ofParts(1L, 5L);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, validator.getEtag());
+
+        ResponseEntity<String> response = conditionalGet.respond(validator, conditionalGet.privateCaching(), body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo(validator.getEtag());
+        assertThat(bodyLoads).hasValue(0);
+    }
+
+    @Test
+    void weakAndListedEtagsMatch() {
+        ContentValidator validator = ContentValidator.ofParts(1L, 5L);
+
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/" + validator.getEtag());
+        assertThat(conditionalGet.respond(validator, conditionalGet.privateCaching(), body).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        request.removeHeader(HttpHeaders.IF_NONE_MATCH);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"stale\", " + validator.getEtag());
+        assertThat(conditionalGet.respond(validator, conditionalGet.privateCaching(), body).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        request.removeHeader(HttpHeaders.IF_NONE_MATCH);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        assertThat(conditionalGet.respond(validator, conditionalGet.privateCaching(), body).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        assertThat(bodyLoads).hasValue(0);
+    }
+
+    @Test
+    void changedVersionOrLocaleMissesTheEtag() {
+        String etag = ContentValidator.ofParts(1L, 5L).getEtag();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        assertThat(conditionalGet.respond(ContentValidator.ofParts(1L, 6L), conditionalGet.privateCaching(), body)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        LocaleContextHolder.setLocale(Locale.forLanguageTag("ar"));
+        assertThat(conditionalGet.respond(ContentValidator.ofParts(1L, 5L), conditionalGet.privateCaching(), body)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(bodyLoads).hasValue(2);
+    }
+
+    @Test
+    void ifNoneMatchTakesPrecedenceOverIfModifiedSince() {
+        ContentValidator validator = ContentValidator.of(UPDATED_AT, 1L);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"stale\"");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, Instant.now().toEpochMilli());
+
+        ResponseEntity<String> response = conditionalGet.respond(validator, conditionalGet.publicCaching(), body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(bodyLoads).hasValue(1);
+    }
+
+    @Test
+    void ifModifiedSinceComparesWholeSeconds() {
+        ContentValidator validator = ContentValidator.of(UPDATED_AT, 1L);
+        long updatedAtSecond = UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().getEpochSecond();
+
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, updatedAtSecond * 1000);
+        assertThat(conditionalGet.respond(validator, conditionalGet.publicCaching(), body).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        request.removeHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, (updatedAtSecond - 1) * 1000);
+        assertThat(conditionalGet.respond(validator, conditionalGet.publicCaching(), body).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void ifModifiedSinceIsIgnoredWithoutLastModifiedOrWhenUnparseable() {
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, Instant.now().toEpochMilli());
+        assertThat(conditionalGet.respond(ContentValidator.ofParts(1L), conditionalGet.privateCaching(), body)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        request.removeHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "not a date");
+        assertThat(conditionalGet.respond(ContentValidator.of(UPDATED_AT, 1L), conditionalGet.publicCaching(), body)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
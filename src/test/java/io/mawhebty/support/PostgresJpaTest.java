@@ -0,0 +1,78 @@
+package io.mawhebty.support;
+
+import io.mawhebty.services.OwnerProfileLoader;
+import io.mawhebty.services.ReferenceDataRegistry;
+import io.mawhebty.services.SavedStateResolver;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+
+/**
+ * JPA slice on a real PostgreSQL, the native queries use arrays and full text search.
+ * Flyway only carries the later migrations, so Hibernate creates the base schema and the
+ * migrations run over it once, as FlywayConfig does at startup.
+ * <p>
+ * One container serves the whole run, and every subclass shares this one context: a second
+ * context would recreate the schema under the first. Services under test are imported here
+ * rather than on the subclasses for that reason.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OwnerProfileLoader.class, SavedStateResolver.class, SliceQueryExecutor.class})
+public abstract class PostgresJpaTest {
+
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    private static boolean migrated;
+
+    @MockitoBean
+    protected ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void migrate() {
+        if (migrated) return;
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .outOfOrder(true)
+                .load()
+                .migrate();
+        migrated = true;
+    }
+
+    /**
+     * Hibernate statistics, cleared so the caller only counts its own statements
+     */
+    protected Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
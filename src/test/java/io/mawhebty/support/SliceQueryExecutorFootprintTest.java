@@ -0,0 +1,130 @@
+package io.mawhebty.support;
+
+import io.mawhebty.models.Post;
+import io.mawhebty.projections.PostCard;
+import io.mawhebty.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.AllArgsConstructor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rows, bytes and allocations of one post list page, read as entities (the old path) and as
+ * cards through SliceQueryExecutor. Prints the per-page figures and checks the cards come out
+ * ahead on each of them.
+ */
+class SliceQueryExecutorFootprintTest extends PostgresJpaTest {
+
+    private static final int POSTS = 200;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARM_UP = 5;
+    private static final int ROUNDS = 20;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // payload of the columns each path selects for one page, as PostgreSQL sizes them
+    private static final String ENTITY_PAGE_BYTES = "SELECT sum(pg_column_size(p.*)) " +
+            "FROM (SELECT * FROM posts ORDER BY created_at DESC LIMIT " + PAGE_SIZE + ") p";
+    private static final String CARD_PAGE_BYTES = "SELECT sum(pg_column_size(ROW(p.id, p.owner_user_id, p.title, " +
+            "p.caption, p.media_url, p.duration_seconds, c.name_en, s.name_en, p.created_at, p.likes_count))) " +
+            "FROM (SELECT * FROM posts ORDER BY created_at DESC LIMIT " + PAGE_SIZE + ") p " +
+            "LEFT JOIN talent_categories c ON c.id = p.category_id " +
+            "LEFT JOIN talent_sub_categories s ON s.id = p.sub_category_id";
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private SliceQueryExecutor sliceQueryExecutor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Pageable firstPage = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @BeforeEach
+    void setUp() {
+        Long ownerId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, is_verified, created_at) VALUES ('owner@mawhebty.test', false, now()) RETURNING id",
+                Long.class);
+        jdbcTemplate.update("INSERT INTO posts (owner_user_id, type_id, title, caption, media_url, duration_seconds, " +
+                "visibility_id, status_id, category_id, likes_count, created_at) " +
+                "SELECT ?, (SELECT id FROM post_types WHERE name = 'REEL'), 'Post ' || g, repeat('A caption. ', 20), " +
+                "'https://cdn.mawhebty.test/reels/' || g || '.mp4', 30, " +
+                "(SELECT id FROM post_visibility WHERE name = 'PUBLIC'), (SELECT id FROM post_statuses WHERE name = 'PUBLISHED'), " +
+                "(SELECT min(id) FROM talent_categories), 0, now() - g * INTERVAL '1 minute' " +
+                "FROM generate_series(1, ?) g", ownerId, POSTS);
+    }
+
+    @Test
+    void cardPageReadsLessThanAnEntityPage() {
+        Footprint entities = measure(() -> {
+            Page<Post> page = postRepository.findAll(firstPage);
+            // what the list mapping used to touch
+            page.forEach(post -> post.getCategory().getNameEn());
+            return page.getNumberOfElements();
+        });
+        Footprint cards = measure(() -> sliceQueryExecutor.findPage(Post.class, null, firstPage,
+                PostCard.class, PostCard.columns(Locale.ENGLISH)).getNumberOfElements());
+
+        long entityBytes = jdbcTemplate.queryForObject(ENTITY_PAGE_BYTES, Long.class);
+        long cardBytes = jdbcTemplate.queryForObject(CARD_PAGE_BYTES, Long.class);
+
+        System.out.printf("page of %d posts    statements  entities  payload bytes  allocated bytes%n", PAGE_SIZE);
+        System.out.printf("entities            %10d  %8d  %13d  %15d%n", entities.statements, entities.entities, entityBytes, entities.allocatedBytes);
+        System.out.printf("cards               %10d  %8d  %13d  %15d%n", cards.statements, cards.entities, cardBytes, cards.allocatedBytes);
+
+        assertThat(entities.rows).isEqualTo(PAGE_SIZE);
+        assertThat(cards.rows).isEqualTo(PAGE_SIZE);
+        assertThat(cards.entities).isZero();
+        assertThat(cards.statements).isLessThanOrEqualTo(entities.statements);
+        assertThat(cardBytes).isLessThan(entityBytes);
+        assertThat(cards.allocatedBytes).isLessThan(entities.allocatedBytes);
+    }
+
+    // figures of the last round, allocations averaged over all rounds; each round starts from an empty session
+    private Footprint measure(Supplier<Integer> readPage) {
+        for (int i = 0; i < WARM_UP; i++) {
+            entityManager.clear();
+            readPage.get();
+        }
+
+        Statistics statistics = null;
+        int rows = 0;
+        long allocated = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            entityManager.clear();
+            statistics = clearedStatistics();
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            rows = readPage.get();
+            allocated += THREADS.getCurrentThreadAllocatedBytes() - before;
+        }
+        return new Footprint(rows, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), allocated / ROUNDS);
+    }
+
+    @AllArgsConstructor
+    private static class Footprint {
+        private final int rows;
+        private final long statements;
+        private final long entities;
+        private final long allocatedBytes;
+    }
+}